@@ -3,9 +3,12 @@ package com.mycompany.app.controllers;
 import com.mycompany.app.exceptions.InvalidGame;
 import com.mycompany.app.exceptions.NotFoundException;
 import com.mycompany.app.exceptions.SolutionInvalidException;
+import com.mycompany.app.models.DifficultyEnum;
 import com.mycompany.app.models.UserAction;
+import com.mycompany.app.models.VerificationResult;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Interface of the viewer representing the actions that are needed by the controller.
@@ -17,10 +20,11 @@ public interface Controllable {
     
     int[][] getGame(char level) throws NotFoundException;
 
-    void driveGames(String sourcePath) throws SolutionInvalidException;
+    // Levels not saved because an equivalent puzzle is already stored
+    List<DifficultyEnum> driveGames(String sourcePath) throws SolutionInvalidException;
 
-    // A boolean array which says if a specifc cell is correct or invalid
-    boolean[][] verifyGame(int[][] game);
+    // The state plus which cells are part of a duplicate
+    VerificationResult verifyGame(int[][] game);
 
     // contains the cell x, y and solution for each missing cell
     int[][] solveGame(int[][] game) throws InvalidGame;
@@ -3,11 +3,16 @@ package com.mycompany.app.controllers;
 import com.mycompany.app.exceptions.*;
 import com.mycompany.app.models.*;
 import com.mycompany.app.controllers.services.*;
-import com.mycompany.app.controllers.services.solverServices.SudokuSolver;
+import com.mycompany.app.controllers.services.solverServices.SolveCache;
+import com.mycompany.app.controllers.services.verifierServices.IncrementalVerifier;
+import com.mycompany.app.controllers.services.verifierServices.VerificationCache;
+import com.mycompany.app.controllers.services.solverServices.SolverEngine;
 import com.mycompany.app.controllers.services.storageServices.GameGenerator;
 import com.mycompany.app.controllers.services.storageServices.StorageManager;
 import com.mycompany.app.utility.CSVReader;
+import com.mycompany.app.utility.ZobristHash;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,15 +29,22 @@ import java.util.List;
  */
 
 public class SudokuController implements Viewable {
+    private static final int DUPLICATE_RETRIES = 5;
+
     private final StorageManager storageManager;
     private final GameGenerator gameGenerator;
+    private final SolveCache solveCache;
+    private final VerificationCache verificationCache;
 
     private Game currentGame;
-    private SudokuVerifier currentVerifier;
+    private IncrementalVerifier currentVerifier; // follows currentGame edit by edit
+    private long currentHash; // Zobrist hash of currentGame.board, kept in sync per edit
 
     public SudokuController() {
         this.storageManager = new StorageManager();
         this.gameGenerator = new GameGenerator();
+        this.solveCache = new SolveCache();
+        this.verificationCache = new VerificationCache();
         this.currentGame = null;
         this.currentVerifier = null;
     }
@@ -48,9 +60,10 @@ public class SudokuController implements Viewable {
     public Game getUnfinishedGame() throws NotFoundException 
     {
         try{
-            Game game = storageManager.readGameFromFile(StorageManager.CURRENT_GAME_FILE);
+            Game game = storageManager.loadCurrentGame();
             currentGame = game;
-            currentVerifier = new SudokuVerifier(game.board);
+            currentVerifier = new IncrementalVerifier(game.board);
+            currentHash = ZobristHash.hash(game.board);
             
             return game;
         } catch (IOException e) {
@@ -63,7 +76,8 @@ public class SudokuController implements Viewable {
         try {
             Game game = storageManager.loadGame(level);
             currentGame = game;
-            currentVerifier = new SudokuVerifier(game.board);
+            currentVerifier = new IncrementalVerifier(game.board);
+            currentHash = ZobristHash.hash(game.board);
             storageManager.deleteCurrentGameWithLog();
             storageManager.saveCurrentGame(game);
 
@@ -73,48 +87,92 @@ public class SudokuController implements Viewable {
         }
     }
 
+    /**
+     * A level whose puzzle is already stored (up to symmetry) gets a newly
+     * generated one, up to DUPLICATE_RETRIES more times.
+     * @return Levels still not saved because every puzzle tried was a duplicate
+     * @throws SolutionInvalidException if no level could be saved
+     */
     @Override
-    public void driveGames(Game source) throws SolutionInvalidException {
-        SudokuVerifier verifier = new SudokuVerifier(source.board);
-        if (verifier.getState() != SudokuVerifier.State.VALID) {
+    public List<DifficultyEnum> driveGames(Game source) throws SolutionInvalidException {
+        if (SudokuVerifier.verdict(source.board) != SudokuVerifier.State.VALID) {
             throw new SolutionInvalidException("Source solution is not valid");
         }
 
+        DifficultyEnum[] levels = { DifficultyEnum.EASY, DifficultyEnum.MEDIUM, DifficultyEnum.HARD };
+        List<DifficultyEnum> skipped = new ArrayList<>();
         try {
-            Game[] games = gameGenerator.generateAllLevels(source);
-            storageManager.saveGame(games[0], DifficultyEnum.EASY);
-            storageManager.saveGame(games[1], DifficultyEnum.MEDIUM);
-            storageManager.saveGame(games[2], DifficultyEnum.HARD);
+            for (DifficultyEnum level : levels) {
+                boolean saved = false;
+                for (int attempt = 0; attempt <= DUPLICATE_RETRIES && !saved; attempt++) {
+                    // false: an equivalent puzzle is already stored
+                    saved = storageManager.saveGame(gameGenerator.generateGame(source, level.name()), level);
+                }
+                if (!saved) {
+                    skipped.add(level);
+                }
+            }
         } catch (IOException e) {
             throw new SolutionInvalidException("Failed to save games: " + e.getMessage());
         } catch (Exception e) {
             throw new SolutionInvalidException("Failed to generate games: " + e.getMessage());
         }
-    }
 
-    @Override
-    public String verifyGame(Game game) {
-        SudokuVerifier verifier = new SudokuVerifier(game.board);
-        if (currentGame != null && game.board == currentGame.board) {
-            currentVerifier = verifier;
+        if (skipped.size() == levels.length) {
+            throw new SolutionInvalidException("Every puzzle generated from this solution is already stored"
+                    + " (same puzzle up to symmetry)");
         }
-        String result = verifier.toString();
+        return skipped;
+    }
 
-       return result;
+    @Override
+    public VerificationResult verifyGame(Game game) {
+        // Same board state as an earlier check (repeated click, undo/redo) is a lookup
+        return verificationCache.verify(game.board);
     }
 
     @Override
     public int[] solveGame(Game game) throws InvalidGame {
-        if (game.countEmptyCells(game.board) != 5) {
-            throw new InvalidGame("Solver requires exactly 5 empty cells");
-        }
+        return solveGame(game, SolverEngine.CONSTRAINT);
+    }
+
+    /**
+     * Solves the game with a specific engine.
+     * @return Values of the empty cells in row-major order
+     */
+    public int[] solveGame(Game game, SolverEngine engine) throws InvalidGame {
         try {
-            return SudokuSolver.solve(game.board);
+            long hash = (currentGame != null && game.board == currentGame.board)
+                    ? currentHash
+                    : ZobristHash.hash(game.board);
+
+            int[] cached = solveCache.get(hash, game.board);
+            if (cached != null) {
+                return cached;
+            }
+
+            int[] solution = engine.solve(game.board);
+            solveCache.put(hash, game.board, solution);
+            return solution;
         } catch (Exception e) {
             throw new InvalidGame("Failed to solve: " + e.getMessage());
         }
     }
 
+    /**
+     * Cache in front of solveGame (for hit/miss counters).
+     */
+    public SolveCache getSolveCache() {
+        return solveCache;
+    }
+
+    /**
+     * Cache in front of verifyGame (for hit/miss counters).
+     */
+    public VerificationCache getVerificationCache() {
+        return verificationCache;
+    }
+
     @Override
     public void logUserAction(String userAction) throws IOException {
         storageManager.logUserAction(userAction);
@@ -141,8 +199,8 @@ public class SudokuController implements Viewable {
 
         int previousValue = currentGame.board[row][col];
         currentGame.board[row][col] = newValue;
-        currentVerifier = new SudokuVerifier(currentGame.board);
-        storageManager.saveCurrentGame(currentGame);
+        currentHash = ZobristHash.update(currentHash, currentGame.board.length, row, col, previousValue, newValue);
+        currentVerifier.apply(row, col, previousValue, newValue);
         return previousValue;
     }
 
@@ -153,29 +211,34 @@ public class SudokuController implements Viewable {
         if (currentGame == null)
             throw new IllegalStateException("No game loaded");
         
+        int previousValue = currentGame.board[row][col];
         currentGame.board[row][col] = restoredValue;
-        currentVerifier = new SudokuVerifier(currentGame.board);
-        storageManager.saveCurrentGame(currentGame);
+        currentHash = ZobristHash.update(currentHash, currentGame.board.length, row, col, previousValue,
+                restoredValue);
+        currentVerifier.apply(row, col, previousValue, restoredValue);
+    }
+
+    /**
+     * Logs an action without going through its string form.
+     */
+    public void logUserAction(UserAction userAction) throws IOException {
+        storageManager.logUserAction(userAction);
+    }
+
+    /**
+     * Removes the last action from the log (constant time).
+     * @return The removed action, or null if the log is empty
+     */
+    public UserAction removeLastAction() throws IOException {
+        return storageManager.removeLastUserAction();
     }
 
     /**
      * Removes the last action from log and returns its log entry string.
      */
     public String removeLastActionFromLog() throws IOException {
-        List<String> logEntries = storageManager.readGameLog();
-        if (logEntries.isEmpty()) {
-            return null;
-        }
-        
-        String lastEntry = logEntries.remove(logEntries.size() - 1);
-        
-        // Rewrite log without last entry
-        storageManager.clearGameLog();
-        for (String entry : logEntries) {
-            storageManager.logUserAction(entry);
-        }
-        
-        return lastEntry;
+        UserAction lastAction = removeLastAction();
+        return (lastAction != null) ? lastAction.toLogEntry() : null;
     }
 
     /**
@@ -185,6 +248,13 @@ public class SudokuController implements Viewable {
         return storageManager.readGameLog();
     }
 
+    /**
+     * @return true if the cell was filled when the current game started
+     */
+    public boolean isGivenCell(int row, int col) {
+        return storageManager.isGivenCell(row, col);
+    }
+
     /**
      * Gets the current game board.
      */
@@ -208,8 +278,7 @@ public class SudokuController implements Viewable {
     }
 
     public boolean isCurrentGameCompleteAndValid() {
-        return currentVerifier != null &&
-                currentVerifier.getState() == SudokuVerifier.State.VALID;
+        return currentVerifier != null && currentVerifier.isCompleteAndValid();
     }
 
     public boolean handleGameCompletion() {
@@ -228,18 +297,18 @@ public class SudokuController implements Viewable {
     }
 
     public int getEmptyCellCount() {
-        return (currentGame != null) ? currentGame.countEmptyCells(currentGame.board) : 0;
+        return (currentVerifier != null) ? currentVerifier.getEmptyCells() : 0;
     }
 
     public boolean shouldEnableSolveButton() {
-        return getEmptyCellCount() == 5;
+        return getEmptyCellCount() > 0;
     }
 
     private boolean isValidCoordinate(int coord) {
-        return coord >= 0 && coord < 9;
+        return coord >= 0 && coord < currentGame.board.length;
     }
 
     private boolean isValidValue(int value) {
-        return value >= 0 && value <= 9;
+        return value >= 0 && value <= currentGame.board.length;
     }
 }
\ No newline at end of file
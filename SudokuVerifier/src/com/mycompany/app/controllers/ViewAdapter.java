@@ -3,6 +3,7 @@ package com.mycompany.app.controllers;
 import com.mycompany.app.exceptions.*;
 import com.mycompany.app.models.*;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Adapter class that bridges the GUI (presentation layer) and Controller
@@ -43,12 +44,12 @@ public class ViewAdapter implements Controllable {
     }
 
     @Override
-    public void driveGames(String sourcePath) throws SolutionInvalidException {
+    public List<DifficultyEnum> driveGames(String sourcePath) throws SolutionInvalidException {
         if (controller instanceof SudokuController) {
             try {
                 SudokuController sudokuController = (SudokuController) controller;
                 Game sourceGame = sudokuController.loadSolutionFromFile(sourcePath);
-                controller.driveGames(sourceGame);
+                return controller.driveGames(sourceGame);
             } catch (IOException e) {
                 throw new SolutionInvalidException("Error reading file: " + e.getMessage());
             }
@@ -58,47 +59,8 @@ public class ViewAdapter implements Controllable {
     }
 
     @Override
-    public boolean[][] verifyGame(int[][] board) {
-        Game game = new Game(board);
-        String result = controller.verifyGame(game);
-
-        boolean[][] verification = new boolean[9][9];
-        for (int i = 0; i < 9; i++) {
-            for (int j = 0; j < 9; j++) {
-                verification[i][j] = true;
-            }
-        }
-
-        // Parse the result format: "STATE|row,col|row,col|..."
-        String[] parts = result.split("\\|");
-
-        // parts[0] = STATE (VALID/INVALID/INCOMPLETE)
-        // parts[1+] = invalid cell coordinates
-        if (parts.length > 1) {
-            // Loop through all cell coordinates
-            for (int i = 1; i < parts.length; i++) {
-                if (parts[i].isEmpty())
-                    continue;
-
-                String[] coords = parts[i].split(",");
-                if (coords.length == 2) {
-                    try {
-                        int row = Integer.parseInt(coords[0].trim());
-                        int col = Integer.parseInt(coords[1].trim());
-
-                        // Mark this cell as invalid (false)
-                        if (row >= 0 && row < 9 && col >= 0 && col < 9) {
-                            verification[row][col] = false;
-                        }
-                    } catch (NumberFormatException e) {
-                        // Skip malformed coordinates
-                        System.err.println("Invalid coordinate format: " + parts[i]);
-                    }
-                }
-            }
-        }
-
-        return verification;
+    public VerificationResult verifyGame(int[][] board) {
+        return controller.verifyGame(new Game(board));
     }
 
     @Override
@@ -106,12 +68,12 @@ public class ViewAdapter implements Controllable {
         Game game = new Game(board);
         int[] solution = controller.solveGame(game);
         int[] emptyPositions = game.findEmptyCells(board);
-        int[][] result = new int[5][3];
+        int[][] result = new int[emptyPositions.length][3];
         
-        for (int i = 0; i < 5; i++) {
+        for (int i = 0; i < emptyPositions.length; i++) {
             int encodedPosition = emptyPositions[i];
-            int row = encodedPosition / 9;
-            int col = encodedPosition % 9;
+            int row = encodedPosition / board.length;
+            int col = encodedPosition % board.length;
             result[i][0] = row;
             result[i][1] = col;
             result[i][2] = solution[i];
@@ -133,7 +95,7 @@ public class ViewAdapter implements Controllable {
         
         int previousValue = sudokuController.updateCellValue(row, col, newValue);
         UserAction action = new UserAction(row, col, newValue, previousValue);
-        controller.logUserAction(action.toLogEntry());
+        sudokuController.logUserAction(action);
         
         return action;
     }
@@ -144,13 +106,11 @@ public class ViewAdapter implements Controllable {
         }
         SudokuController sudokuController = (SudokuController) controller;
         
-        String lastEntry = sudokuController.removeLastActionFromLog();
-        if (lastEntry == null) {
+        UserAction undoneAction = sudokuController.removeLastAction();
+        if (undoneAction == null) {
             return null;
         }
         
-        UserAction undoneAction = UserAction.fromLogEntry(lastEntry);
-        
         // Restore the cell value
         sudokuController.restoreCellValue(
             undoneAction.getX(), 
@@ -6,8 +6,10 @@ import com.mycompany.app.exceptions.SolutionInvalidException;
 import com.mycompany.app.models.Catalog;
 import com.mycompany.app.models.DifficultyEnum;
 import com.mycompany.app.models.Game;
+import com.mycompany.app.models.VerificationResult;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Interface of the controller representing the actions that are needed by the viewer.
@@ -32,20 +34,20 @@ public interface Viewable {
     /**
      * Gets a sourceSolution and generates three levels of difficulty (easy, medium, hard).
      * @param source The solved Sudoku game to use as source
-     * @throws SolutionInvalidException if the source solution is invalid or incomplete
+     * @return Levels not saved because an equivalent puzzle is already stored (empty if all were)
+     * @throws SolutionInvalidException if the source solution is invalid or incomplete, or no level was saved
      */
-    void driveGames(Game source) throws SolutionInvalidException;
+    List<DifficultyEnum> driveGames(Game source) throws SolutionInvalidException;
     
     /**
      * Given a game, verifies its state.
      * If invalid, returns invalid and locates the invalid duplicates.
      * If valid and complete, returns a completion value.
      * If valid and incomplete, returns another value.
-     * The exact representation as a string is done as you best see fit.
      * @param game The game to verify
-     * @return String representation of verification result
+     * @return State, conflict cells and per-unit duplicate masks
      */
-    String verifyGame(Game game);
+    VerificationResult verifyGame(Game game);
     
     /**
      * Returns the correct combination for the missing numbers.
@@ -54,7 +56,7 @@ public interface Viewable {
      * One other way is to try to encode the location and the answer all in just one int.
      * @param game The game to solve
      * @return Array of solutions (encoded as ints - location and value)
-     * @throws InvalidGame if the game cannot be solved (e.g., not exactly 5 empty cells)
+     * @throws InvalidGame if the game cannot be solved (e.g., conflicting values or no solution)
      */
     int[] solveGame(Game game) throws InvalidGame;
     
@@ -6,9 +6,9 @@ package com.mycompany.app.controllers.services;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 
+import com.mycompany.app.models.BoardGeometry;
 import com.mycompany.app.models.SudokuData;
 
 /**
@@ -25,7 +25,7 @@ public class SudokuVerifier {
 
     public SudokuVerifier(int[][] board) {
 
-        this.data = convertToSudokuData(board);
+        this.data = new SudokuData(board);
 
         this.rowDuplicates = new ArrayList<>();
         this.columnDuplicates = new ArrayList<>();
@@ -35,21 +35,66 @@ public class SudokuVerifier {
 
     }
 
-    private SudokuData convertToSudokuData(int[][] board) {
-        SudokuData data = new SudokuData();
-
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                int value = board[row][col];
-                data.getRows()[row][col] = value;
-                data.getColumns()[col][row] = value;
-                int boxIndex = (row / 3) * 3 + (col / 3);
-                int positionInBox = (row % 3) * 3 + (col % 3);
-                data.getBoxes()[boxIndex][positionInBox] = value;
+    /**
+     * Verdict only: same state as new SudokuVerifier(board).getState(), but
+     * returns INVALID at the first duplicate found and never builds the
+     * Duplicate lists. One digit mask per unit, nothing is allocated.
+     * Use it when the duplicate details are not shown to anyone.
+     *
+     * @param board Square board of a supported size, 0 for empty cells (not modified)
+     * @throws IllegalArgumentException if the board size is not supported
+     */
+    public static State verdict(int[][] board) {
+        int boxSize = BoardGeometry.of(board).getBoxSize();
+        int size = board.length;
+        boolean hasEmpty = false;
+
+        // Rows, also spotting empty cells
+        for (int row = 0; row < size; row++) {
+            int[] cells = board[row];
+            int seen = 0;
+            for (int col = 0; col < size; col++) {
+                int value = cells[col];
+                if (value == 0) {
+                    hasEmpty = true;
+                    continue;
+                }
+                int bit = 1 << value;
+                if ((seen & bit) != 0) {
+                    return State.INVALID; // a duplicate anywhere wins
+                }
+                seen |= bit;
             }
         }
 
-        return data;
+        // Columns
+        for (int col = 0; col < size; col++) {
+            int seen = 0;
+            for (int row = 0; row < size; row++) {
+                int bit = (1 << board[row][col]) & ~1; // 0 (empty) sets nothing
+                if ((seen & bit) != 0) {
+                    return State.INVALID;
+                }
+                seen |= bit;
+            }
+        }
+
+        // Boxes
+        for (int boxRow = 0; boxRow < size; boxRow += boxSize) {
+            for (int boxCol = 0; boxCol < size; boxCol += boxSize) {
+                int seen = 0;
+                for (int row = boxRow; row < boxRow + boxSize; row++) {
+                    for (int col = boxCol; col < boxCol + boxSize; col++) {
+                        int bit = (1 << board[row][col]) & ~1;
+                        if ((seen & bit) != 0) {
+                            return State.INVALID;
+                        }
+                        seen |= bit;
+                    }
+                }
+            }
+        }
+        return hasEmpty ? State.INCOMPLETE : State.VALID;
     }
 
     public enum State {
@@ -190,6 +235,7 @@ public class SudokuVerifier {
      * Format: "row,col|row,col|..."
      */
     private String duplicateCellsParseable() {
+        int boxSize = data.getGeometry().getBoxSize();
         StringBuilder result = new StringBuilder();
         HashSet<String> invalidCells = new HashSet<>();
 
@@ -216,10 +262,10 @@ public class SudokuVerifier {
             int boxIdx = dup.getTypeIdx() - 1;
             for (Integer posInBox : dup.getDuplicatesIdx()) {
                 int pos = posInBox - 1;
-                int boxRow = boxIdx / 3;
-                int boxCol = boxIdx % 3;
-                int rowIdx = boxRow * 3 + pos / 3;
-                int colIdx = boxCol * 3 + pos % 3;
+                int boxRow = boxIdx / boxSize;
+                int boxCol = boxIdx % boxSize;
+                int rowIdx = boxRow * boxSize + pos / boxSize;
+                int colIdx = boxCol * boxSize + pos % boxSize;
                 invalidCells.add(rowIdx + "," + colIdx);
             }
         }
@@ -252,11 +298,8 @@ public class SudokuVerifier {
     public String toHumanReadableString() {
         switch (state) {
             case INCOMPLETE:
-                if (rowDuplicates.isEmpty() && columnDuplicates.isEmpty() && boxDuplicates.isEmpty()) {
-                    return "\nINCOMPLETE WITH NO DUPLICATES";
-                } else {
-                    return "\nINCOMPLETE WITH DUPLICATES:\n" + duplicateMessageHumanReadable();
-                }
+                // Any duplicate makes the board INVALID, even with empty cells
+                return "\nINCOMPLETE WITH NO DUPLICATES";
             case INVALID:
                 return "\nINVALID\n" + duplicateMessageHumanReadable();
             default:
@@ -274,104 +317,66 @@ public class SudokuVerifier {
 
         // If no duplicates found and board is complete, state remains VALID
         // Otherwise, state has been set to INCOMPLETE or INVALID during verification
+        // (INVALID if any unit has a duplicate, even when cells are still empty)
     }
 
     protected void verifyRows() {
-        for (int i = 0; i < data.getRows().length; i++) {
-            verifyRow(data.getRows()[i], i);
+        int size = data.getSize();
+        for (int i = 0; i < size; i++) {
+            verifyUnit(i, Duplicate.Type.ROW, rowDuplicates);
         }
     }
 
     protected void verifyColumns() {
-        for (int i = 0; i < data.getColumns().length; i++) {
-            verifyColumn(data.getColumns()[i], i);
+        int size = data.getSize();
+        for (int i = 0; i < size; i++) {
+            verifyUnit(size + i, Duplicate.Type.COL, columnDuplicates);
         }
     }
 
     protected void verifyBoxes() {
-        for (int i = 0; i < data.getBoxes().length; i++) {
-            verifyBox(data.getBoxes()[i], i);
-        }
-    }
-
-    protected void verifyRow(int[] row, int rowIndex) {
-        HashMap<Integer, ArrayList<Integer>> valuePositions = new HashMap<>();
-
-        for (int i = 0; i < row.length; i++) {
-            int value = row[i];
-            if (value == 0) {
-                state = State.INCOMPLETE;
-                continue;
-            }
-            valuePositions.putIfAbsent(value, new ArrayList<>());
-            valuePositions.get(value).add(i + 1);
-        }
-
-        for (int value : valuePositions.keySet()) {
-            ArrayList<Integer> positions = valuePositions.get(value);
-            if (positions.size() > 1) {
-                state = State.INVALID;
-                Duplicate dup = new Duplicate(
-                        Duplicate.Type.ROW,
-                        rowIndex + 1,
-                        value,
-                        positions);
-                rowDuplicates.add(dup);
-            }
+        int size = data.getSize();
+        for (int i = 0; i < size; i++) {
+            verifyUnit(2 * size + i, Duplicate.Type.BOX, boxDuplicates);
         }
     }
 
-    protected void verifyColumn(int[] column, int colIndex) {
-        HashMap<Integer, ArrayList<Integer>> valuePositions = new HashMap<>();
+    /**
+     * Checks one unit straight from the board view. A digit mask finds the
+     * duplicates; positions are only collected for duplicated digits, so a
+     * clean unit allocates nothing.
+     */
+    protected void verifyUnit(int unit, Duplicate.Type type, ArrayList<Duplicate> duplicates) {
+        int size = data.getSize();
+        int seen = 0;
+        int duplicated = 0;
 
-        for (int i = 0; i < column.length; i++) {
-            int value = column[i];
+        for (int i = 0; i < size; i++) {
+            int value = data.get(unit, i);
             if (value == 0) {
-                state = State.INCOMPLETE;
+                if (state != State.INVALID) {
+                    state = State.INCOMPLETE; // a duplicate anywhere wins
+                }
                 continue;
             }
-            valuePositions.putIfAbsent(value, new ArrayList<>());
-            valuePositions.get(value).add(i + 1);
+            int bit = 1 << value;
+            duplicated |= seen & bit;
+            seen |= bit;
         }
 
-        for (int value : valuePositions.keySet()) {
-            ArrayList<Integer> positions = valuePositions.get(value);
-            if (positions.size() > 1) {
-                state = State.INVALID;
-                Duplicate dup = new Duplicate(
-                        Duplicate.Type.COL,
-                        colIndex + 1,
-                        value,
-                        positions);
-                columnDuplicates.add(dup);
-            }
-        }
-    }
-
-    protected void verifyBox(int[] box, int boxIndex) {
-        HashMap<Integer, ArrayList<Integer>> valuePositions = new HashMap<>();
-
-        for (int i = 0; i < box.length; i++) {
-            int value = box[i];
-            if (value == 0) {
-                state = State.INCOMPLETE;
+        // Ascending digit order, as before
+        for (int value = 1; value <= size; value++) {
+            if ((duplicated & (1 << value)) == 0) {
                 continue;
             }
-            valuePositions.putIfAbsent(value, new ArrayList<>());
-            valuePositions.get(value).add(i + 1);
-        }
-
-        for (int value : valuePositions.keySet()) {
-            ArrayList<Integer> positions = valuePositions.get(value);
-            if (positions.size() > 1) {
-                state = State.INVALID;
-                Duplicate dup = new Duplicate(
-                        Duplicate.Type.BOX,
-                        boxIndex + 1,
-                        value,
-                        positions);
-                boxDuplicates.add(dup);
+            state = State.INVALID;
+            Duplicate dup = new Duplicate(type, unit % size + 1, value);
+            for (int i = 0; i < size; i++) {
+                if (data.get(unit, i) == value) {
+                    dup.add(i + 1);
+                }
             }
+            duplicates.add(dup);
         }
     }
 }
@@ -0,0 +1,308 @@
+package com.mycompany.app.controllers.services.solverServices;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import com.mycompany.app.controllers.services.storageServices.PuzzlePack;
+import com.mycompany.app.controllers.services.storageServices.StorageManager;
+import com.mycompany.app.utility.CSVReader;
+
+/**
+ * Solves a whole puzzle bank at once.
+ *
+ * Input is either a directory (searched recursively for StorageManager's
+ * game_N.csv and puzzles.pack files, e.g. "storage") or one multi-board
+ * file (see @see CSVReader#readBoards). Boards from a file or a pack are
+ * named source#N, N from 1. Every board is solved on its own virtual thread;
+ * the carrier pool they run on is capped with --carriers. Input is
+ * streamed: at most IN_FLIGHT boards are read ahead of the solvers, and
+ * solved boards wait in a bounded queue for the writer, so memory stays
+ * flat however large the bank is.
+ *
+ * Results are streamed to the output file by a single writer thread as they
+ * complete, one tab-separated line per board (a file that cannot be read
+ * gets one FAILED line). If the output fails, the run still finishes and
+ * then throws the error.
+ * source    SOLVED    solved board on one line (81 characters for 9x9,
+ *                     letters above 9 on bigger boards, see CSVReader.toLine)
+ * source    FAILED    reason
+ *
+ * Usage:
+ * java ...BatchSolver input output [--carriers N] [--engine CONSTRAINT|DANCING_LINKS|...]
+ *
+ * @author Zeyad
+ */
+public class BatchSolver {
+    private static final int IN_FLIGHT = 1024;
+    private static final int LATENCY_CHUNK = 4096;
+    private static final String POISON = "";
+
+    /**
+     * Summary of a batch run.
+     */
+    public static class Report {
+        public final int boards;
+        public final int failures;
+        public final long elapsedNanos;
+        public final long p50Nanos;
+        public final long p99Nanos;
+
+        Report(int boards, int failures, long elapsedNanos, long[] latencies) {
+            this.boards = boards;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+            Arrays.sort(latencies);
+            this.p50Nanos = percentile(latencies, 50);
+            this.p99Nanos = percentile(latencies, 99);
+        }
+
+        public double boardsPerSecond() {
+            return (elapsedNanos == 0) ? 0 : boards * 1e9 / elapsedNanos;
+        }
+
+        private static long percentile(long[] sorted, int percent) {
+            return (sorted.length == 0) ? 0 : sorted[(sorted.length - 1) * percent / 100];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d boards, %d failures in %.1f ms (%.0f boards/sec), p50 %.1f us, p99 %.1f us",
+                    boards, failures, elapsedNanos / 1e6, boardsPerSecond(), p50Nanos / 1e3, p99Nanos / 1e3);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchSolver <input dir|file> <output file> [--carriers N] [--engine NAME]");
+            System.exit(2);
+        }
+
+        SolverEngine engine = SolverEngine.CONSTRAINT;
+        for (int i = 2; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--carriers":
+                    // Must be set before the first virtual thread starts
+                    System.setProperty("jdk.virtualThreadScheduler.parallelism", args[i + 1]);
+                    System.setProperty("jdk.virtualThreadScheduler.maxPoolSize", args[i + 1]);
+                    break;
+                case "--engine":
+                    engine = SolverEngine.valueOf(args[i + 1].toUpperCase());
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        try {
+            Report report = solveAll(Paths.get(args[0]), Paths.get(args[1]), engine);
+            System.out.println(report);
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private final SolverEngine engine;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight = new Semaphore(IN_FLIGHT);
+    private final BlockingQueue<String> lines = new ArrayBlockingQueue<>(IN_FLIGHT);
+    private final List<long[]> latencies = new ArrayList<>(); // LATENCY_CHUNK per array
+    private final AtomicInteger failures = new AtomicInteger();
+    private int boards; // boards read (or failed to), reader thread only
+    private int solves; // boards submitted, reader thread only
+    private volatile IOException writeError; // first output failure, set by the writer
+
+    private BatchSolver(SolverEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Solves every board found in input and writes one line per board to output.
+     * @throws IOException if the input cannot be opened or the output fails (e.g. disk full)
+     */
+    public static Report solveAll(Path input, Path output, SolverEngine engine)
+            throws IOException, InterruptedException {
+        BatchSolver batch = new BatchSolver(engine);
+        long start = System.nanoTime();
+        Thread writer = batch.startWriter(output);
+
+        try {
+            batch.read(input);
+        } finally {
+            batch.executor.close(); // waits for every board
+            batch.lines.put(POISON);
+            writer.join();
+        }
+        if (batch.writeError != null) {
+            throw batch.writeError;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        return new Report(batch.boards, batch.failures.get(), elapsed, batch.latencies());
+    }
+
+    private void read(Path input) throws IOException {
+        if (!Files.isDirectory(input)) {
+            String name = input.getFileName().toString();
+            int[] next = { 1 };
+            try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+                try {
+                    CSVReader.readBoards(channel, board -> submit(name + "#" + next[0]++, board));
+                } catch (IOException | NumberFormatException e) {
+                    // Boards read so far are still solved; the rest of the file is unusable
+                    fail(name, e.getMessage().trim());
+                }
+            }
+            return;
+        }
+
+        try (Stream<Path> walk = Files.walk(input)) {
+            Iterator<Path> files = walk.filter(p -> {
+                String name = p.getFileName().toString();
+                return (name.equals(StorageManager.PACK_FILE) || name.startsWith("game_") && name.endsWith(".csv"))
+                        && Files.isRegularFile(p);
+            }).iterator();
+
+            while (files.hasNext()) {
+                Path file = files.next();
+                String source = input.relativize(file).toString().replace(File.separatorChar, '/');
+                if (file.getFileName().toString().equals(StorageManager.PACK_FILE)) {
+                    try (PuzzlePack pack = PuzzlePack.openReadOnly(file)) {
+                        for (long i = 0; i < pack.count(); i++) {
+                            submit(source + "#" + (i + 1), pack.read(i));
+                        }
+                    } catch (IOException e) {
+                        fail(source, e.getMessage().trim());
+                    }
+                    continue;
+                }
+                try {
+                    submit(source, CSVReader.readCSV(file.toString(), true));
+                } catch (IOException | NumberFormatException e) {
+                    fail(source, e.getMessage().trim());
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves the board on its own virtual thread; waits first while
+     * IN_FLIGHT boards are still unsolved.
+     */
+    private void submit(String source, int[][] board) {
+        if (solves % LATENCY_CHUNK == 0) {
+            latencies.add(new long[LATENCY_CHUNK]);
+        }
+        long[] latency = latencies.get(latencies.size() - 1);
+        int slot = solves % LATENCY_CHUNK;
+        solves++;
+        boards++;
+
+        inFlight.acquireUninterruptibly();
+        executor.submit(() -> {
+            try {
+                long solveStart = System.nanoTime();
+                String line;
+                try {
+                    int[] values = engine.solve(board);
+                    line = source + "\tSOLVED\t" + format(board, values);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    line = source + "\tFAILED\t" + e.getMessage();
+                }
+                latency[slot] = System.nanoTime() - solveStart;
+                emit(line);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void fail(String source, String reason) {
+        boards++;
+        failures.incrementAndGet();
+        emit(source + "\tFAILED\t" + reason);
+    }
+
+    private void emit(String line) {
+        try {
+            lines.put(line);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The solve time of every board submitted (call once all are solved)
+     */
+    private long[] latencies() {
+        long[] all = new long[solves];
+        for (int chunk = 0; chunk < latencies.size(); chunk++) {
+            int from = chunk * LATENCY_CHUNK;
+            System.arraycopy(latencies.get(chunk), 0, all, from, Math.min(LATENCY_CHUNK, solves - from));
+        }
+        return all;
+    }
+
+    private Thread startWriter(Path output) throws IOException {
+        BufferedWriter out = new BufferedWriter(new FileWriter(output.toFile()));
+        Thread writer = new Thread(() -> {
+            try (out) {
+                String line;
+                while ((line = lines.take()) != POISON) {
+                    if (writeError != null) {
+                        continue; // keep draining, or the solvers block on a full queue
+                    }
+                    try {
+                        out.write(line);
+                        out.newLine();
+                    } catch (IOException e) {
+                        writeError = e;
+                    }
+                }
+            } catch (IOException e) {
+                if (writeError == null) {
+                    writeError = e;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "batch-solver-writer");
+        writer.start();
+        return writer;
+    }
+
+    private static String format(int[][] board, int[] values) {
+        int size = board.length;
+        int[][] solved = new int[size][];
+        int next = 0;
+        for (int row = 0; row < size; row++) {
+            solved[row] = board[row].clone();
+            for (int col = 0; col < size; col++) {
+                if (solved[row][col] == 0) {
+                    solved[row][col] = values[next++];
+                }
+            }
+        }
+        return CSVReader.toLine(solved);
+    }
+}
@@ -19,10 +19,10 @@ public interface Board {
     /**
      * Checks if a value can be placed at the given position on the board.
      * only READS from the board, never writes to it.
-     * @param board The shared Sudoku board (9x9)
-     * @param row   Row index (0-8)
-     * @param col   Column index (0-8)
-     * @param value Value to check (1-9)
+     * @param board The shared Sudoku board (9x9, or any n²×n² size)
+     * @param row   Row index (0-8 on 9x9)
+     * @param col   Column index (0-8 on 9x9)
+     * @param value Value to check (1-9 on 9x9)
      * @return true if value can be placed at (row, col), false otherwise
      */
     boolean canPlaceValue(int[][] board, int row, int col, int value);
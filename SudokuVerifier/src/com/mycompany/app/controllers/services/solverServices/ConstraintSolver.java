@@ -0,0 +1,296 @@
+package com.mycompany.app.controllers.services.solverServices;
+
+import com.mycompany.app.exceptions.InvalidGame;
+import com.mycompany.app.models.BoardGeometry;
+
+/**
+ * Constraint-propagation solver engine.
+ *
+ * Keeps one bitmask per unit (rows, columns, boxes) where bit (d - 1)
+ * is set when digit d is already used in that unit, so the candidates of a
+ * cell are just the complement of its three unit masks.
+ *
+ * Search:
+ * - Naked single: a cell with only one candidate left gets it
+ * - Hidden single: a digit that fits only one cell of a unit goes there
+ * - When propagation stalls, branch on the cell with the fewest candidates (MRV)
+ *
+ * Works for any number of empty cells (unlike the 5-cell permutation engine)
+ * and any supported board size (@see BoardGeometry, 4x4 up to 25x25).
+ * The same search can keep going after the first solution to count them,
+ * which is how uniqueness is checked (count with a limit of 2).
+ * Each search level works on its own copy of the state, allocated the first
+ * time that depth is reached, so backtracking is a plain array copy.
+ *
+ * @author Zeyad
+ */
+public class ConstraintSolver {
+    private final int size;
+    private final int cells;
+    private final int allDigits;
+
+    // State layout: [0..cells-1] cell values, then the used-digit mask per unit
+    // Units: rows, columns, boxes (see BoardGeometry)
+    private final int unitBase;
+    private final int stateSize;
+
+    /** Cell indices of every unit, and the three units of every cell */
+    private final int[][] units;
+    private final int[][] unitsOf;
+
+    // One state copy per search level (at most one level per empty cell)
+    private final int[][] levels;
+    private int[] solved;   // first solution found
+    private long limit;
+    private long found;
+
+    private ConstraintSolver(BoardGeometry geometry) {
+        this.size = geometry.getSize();
+        this.cells = geometry.getCells();
+        this.allDigits = geometry.getAllDigits();
+        this.unitBase = cells;
+        this.stateSize = cells + geometry.getUnitCount();
+        this.units = geometry.getUnits();
+        this.unitsOf = geometry.getUnitsOf();
+        this.levels = new int[cells + 1][];
+        this.levels[0] = new int[stateSize];
+    }
+
+    /**
+     * Solves the board and returns the values of its empty cells.
+     * Same contract as @see SudokuSolver#solve: values are ordered like
+     * Game.findEmptyCells (row-major), the board itself is not modified.
+     *
+     * @param board Square board (4x4 up to 25x25), 0 for empty cells
+     * @return value for each empty cell in row-major order
+     * @throws InvalidGame if the givens conflict or no solution exists
+     */
+    public static int[] solve(int[][] board) throws InvalidGame {
+        ConstraintSolver solver = load(board);
+        solver.run(1);
+
+        if (solver.found == 0) {
+            throw new InvalidGame("No valid solution exists");
+        }
+        return solver.emptyCellValues(board);
+    }
+
+    /**
+     * Counts the solutions of the board, stopping as soon as limit is reached.
+     * With limit 2 this is a uniqueness check: 1 means exactly one solution.
+     *
+     * @param board Square board (4x4 up to 25x25), 0 for empty cells (not modified)
+     * @param limit Stop after this many solutions
+     * @return Number of solutions, at most limit
+     * @throws InvalidGame if the givens conflict
+     */
+    public static long countSolutions(int[][] board, long limit) throws InvalidGame {
+        ConstraintSolver solver = load(board);
+        solver.run(limit);
+        return solver.found;
+    }
+
+    private void run(long limit) {
+        this.limit = limit;
+        this.found = 0;
+        if (limit > 0) {
+            search(0);
+        }
+    }
+
+    private static ConstraintSolver load(int[][] board) throws InvalidGame {
+        if (board == null) {
+            throw new InvalidGame("Board is missing");
+        }
+        BoardGeometry geometry;
+        try {
+            geometry = BoardGeometry.of(board);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidGame(e.getMessage());
+        }
+
+        ConstraintSolver solver = new ConstraintSolver(geometry);
+        int size = solver.size;
+        int[] state = solver.levels[0];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = board[row][col];
+                if (value < 0 || value > size) {
+                    throw new InvalidGame("Invalid value at [" + (row + 1) + "][" + (col + 1) + "] = " + value);
+                }
+                if (value == 0) {
+                    continue;
+                }
+                int cell = row * size + col;
+                if (!solver.place(state, cell, 1 << (value - 1))) {
+                    throw new InvalidGame("Duplicate value " + value + " at [" + (row + 1) + "][" + (col + 1) + "]");
+                }
+            }
+        }
+        return solver;
+    }
+
+    private int[] emptyCellValues(int[][] board) {
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (board[cell / size][cell % size] == 0) {
+                count++;
+            }
+        }
+
+        int[] values = new int[count];
+        int index = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (board[cell / size][cell % size] == 0) {
+                values[index++] = solved[cell];
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return true once limit solutions have been found
+     */
+    private boolean search(int depth) {
+        int[] state = levels[depth];
+        if (!propagate(state)) {
+            return false;
+        }
+
+        // MRV: branch on the empty cell with the fewest candidates
+        int bestCell = -1;
+        int bestCandidates = 0;
+        int bestCount = size + 1;
+        for (int cell = 0; cell < cells; cell++) {
+            if (state[cell] != 0) {
+                continue;
+            }
+            int candidates = candidates(state, cell);
+            int count = Integer.bitCount(candidates);
+            if (count < bestCount) {
+                bestCell = cell;
+                bestCandidates = candidates;
+                bestCount = count;
+                if (count == 2) {
+                    break; // can't do better after propagation
+                }
+            }
+        }
+
+        if (bestCell < 0) {
+            if (found == 0) {
+                solved = state.clone(); // levels get overwritten when counting on
+            }
+            return ++found >= limit;
+        }
+
+        int[] next = levels[depth + 1];
+        if (next == null) {
+            next = new int[stateSize];
+            levels[depth + 1] = next;
+        }
+        while (bestCandidates != 0) {
+            int bit = bestCandidates & -bestCandidates;
+            bestCandidates ^= bit;
+
+            System.arraycopy(state, 0, next, 0, stateSize);
+            place(next, bestCell, bit);
+            if (search(depth + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies naked and hidden singles until nothing changes.
+     * @return false if a contradiction was found
+     */
+    private boolean propagate(int[] state) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            // Naked singles
+            for (int cell = 0; cell < cells; cell++) {
+                if (state[cell] != 0) {
+                    continue;
+                }
+                int candidates = candidates(state, cell);
+                if (candidates == 0) {
+                    return false;
+                }
+                if ((candidates & (candidates - 1)) == 0) {
+                    place(state, cell, candidates);
+                    changed = true;
+                }
+            }
+
+            // Hidden singles
+            for (int unit = 0; unit < units.length; unit++) {
+                int once = 0;
+                int twice = 0;
+                for (int cell : units[unit]) {
+                    if (state[cell] == 0) {
+                        int candidates = candidates(state, cell);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    }
+                }
+
+                int used = state[unitBase + unit];
+                if ((once | used) != allDigits) {
+                    return false; // some digit has nowhere to go in this unit
+                }
+
+                int hidden = once & ~twice;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+                    if (!placeHidden(state, unit, bit)) {
+                        return false;
+                    }
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean placeHidden(int[] state, int unit, int bit) {
+        for (int cell : units[unit]) {
+            if (state[cell] == 0 && (candidates(state, cell) & bit) != 0) {
+                return place(state, cell, bit);
+            }
+        }
+        // Earlier hidden single in this unit took the only spot
+        return false;
+    }
+
+    private int candidates(int[] state, int cell) {
+        int[] of = unitsOf[cell];
+        int used = state[unitBase + of[0]]
+                | state[unitBase + of[1]]
+                | state[unitBase + of[2]];
+        return ~used & allDigits;
+    }
+
+    /**
+     * Places the digit encoded by bit in cell.
+     * @return false if the digit is already used in one of the cell's units
+     */
+    private boolean place(int[] state, int cell, int bit) {
+        int[] of = unitsOf[cell];
+        int row = unitBase + of[0];
+        int col = unitBase + of[1];
+        int box = unitBase + of[2];
+        if (((state[row] | state[col] | state[box]) & bit) != 0) {
+            return false;
+        }
+        state[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+        state[row] |= bit;
+        state[col] |= bit;
+        state[box] |= bit;
+        return true;
+    }
+}
@@ -0,0 +1,278 @@
+package com.mycompany.app.controllers.services.solverServices;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mycompany.app.exceptions.InvalidGame;
+import com.mycompany.app.models.BoardGeometry;
+
+/**
+ * Exact-cover solver using Knuth's Dancing Links (Algorithm X).
+ *
+ * Sudoku as exact cover: one candidate row per (cell, digit) and one constraint
+ * column per requirement, each satisfied by exactly one chosen row
+ * (729 rows and 324 columns on a 9x9 board):
+ * - cell constraints (every cell has a digit)
+ * - row-digit, column-digit and box-digit constraints
+ *
+ * The matrix is sized from the board's @see BoardGeometry, so every
+ * supported size (4x4 up to 25x25) works.
+ *
+ * The matrix is a circular doubly linked list kept in flat int arrays, so
+ * covering and uncovering a column is a handful of array writes. Always
+ * branching on the column with the fewest rows keeps the worst case
+ * predictable even on near-empty boards.
+ *
+ * Same solve contract as @see SudokuSolver, plus counting and enumeration
+ * of every solution.
+ *
+ * @author Zeyad
+ */
+public class DancingLinksSolver {
+    private static final int ROOT = 0;
+
+    private final BoardGeometry geometry;
+    private final int digits;   // board side, also the number of digits
+    private final int cells;
+    private final int columns;
+
+    // Node links; nodes 1..columns are the column headers
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] candidateOf; // cell * digits + digit index
+    private final int[] size;
+    private final int[] firstNode;
+
+    private final int[] chosen;      // candidate picked at each depth
+    private final int[] emptyIndex;  // position in the result, -1 for givens
+    private final int emptyCount;
+
+    private long limit;
+    private long found;
+    private List<int[]> collected;
+
+    private DancingLinksSolver(int[][] board) throws InvalidGame {
+        if (board == null) {
+            throw new InvalidGame("Board is missing");
+        }
+        try {
+            this.geometry = BoardGeometry.of(board);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidGame(e.getMessage());
+        }
+        this.digits = geometry.getSize();
+        this.cells = geometry.getCells();
+        this.columns = 4 * cells;
+        int candidates = cells * digits;
+        int nodes = 1 + columns + 4 * candidates;
+        this.left = new int[nodes];
+        this.right = new int[nodes];
+        this.up = new int[nodes];
+        this.down = new int[nodes];
+        this.column = new int[nodes];
+        this.candidateOf = new int[nodes];
+        this.size = new int[columns + 1];
+        this.firstNode = new int[candidates];
+        this.chosen = new int[cells];
+        this.emptyIndex = new int[cells];
+
+        buildMatrix();
+
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int value = board[cell / digits][cell % digits];
+            if (value < 0 || value > digits) {
+                throw new InvalidGame("Invalid value at [" + (cell / digits + 1) + "][" + (cell % digits + 1) + "] = " + value);
+            }
+            emptyIndex[cell] = (value == 0) ? count++ : -1;
+        }
+        this.emptyCount = count;
+
+        // Givens are rows that are already chosen
+        boolean[] covered = new boolean[columns + 1];
+        for (int cell = 0; cell < cells; cell++) {
+            int value = board[cell / digits][cell % digits];
+            if (value == 0) {
+                continue;
+            }
+            int node = firstNode[cell * digits + value - 1];
+            int j = node;
+            do {
+                if (covered[column[j]]) {
+                    throw new InvalidGame("Duplicate value " + value + " at [" + (cell / digits + 1) + "][" + (cell % digits + 1) + "]");
+                }
+                j = right[j];
+            } while (j != node);
+
+            j = node;
+            do {
+                covered[column[j]] = true;
+                cover(column[j]);
+                j = right[j];
+            } while (j != node);
+        }
+    }
+
+    /**
+     * Solves the board and returns the values of its empty cells.
+     * Same contract as @see SudokuSolver#solve (row-major order).
+     *
+     * @throws InvalidGame if the givens conflict or no solution exists
+     */
+    public static int[] solve(int[][] board) throws InvalidGame {
+        List<int[]> solutions = solveAll(board, 1);
+        if (solutions.isEmpty()) {
+            throw new InvalidGame("No valid solution exists");
+        }
+        return solutions.get(0);
+    }
+
+    /**
+     * Enumerates up to limit solutions.
+     * @return One array per solution, values of the empty cells in row-major order
+     * @throws InvalidGame if the givens conflict
+     */
+    public static List<int[]> solveAll(int[][] board, int limit) throws InvalidGame {
+        DancingLinksSolver solver = new DancingLinksSolver(board);
+        solver.collected = new ArrayList<>();
+        solver.run(limit);
+        return solver.collected;
+    }
+
+    /**
+     * Counts solutions, stopping as soon as limit is reached.
+     * @return Number of solutions, at most limit
+     * @throws InvalidGame if the givens conflict
+     */
+    public static long countSolutions(int[][] board, long limit) throws InvalidGame {
+        DancingLinksSolver solver = new DancingLinksSolver(board);
+        solver.run(limit);
+        return solver.found;
+    }
+
+    private void run(long limit) {
+        this.limit = limit;
+        this.found = 0;
+        if (limit > 0) {
+            search(0);
+        }
+    }
+
+    private void buildMatrix() {
+        for (int c = 0; c <= columns; c++) {
+            left[c] = (c == 0) ? columns : c - 1;
+            right[c] = (c == columns) ? ROOT : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+
+        int next = columns + 1;
+        int[] constraints = new int[4];
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / digits;
+            int col = cell % digits;
+            int box = geometry.box(row, col);
+            for (int digit = 0; digit < digits; digit++) {
+                constraints[0] = 1 + cell;
+                constraints[1] = 1 + cells + row * digits + digit;
+                constraints[2] = 1 + 2 * cells + col * digits + digit;
+                constraints[3] = 1 + 3 * cells + box * digits + digit;
+
+                int first = next;
+                for (int k = 0; k < 4; k++) {
+                    int node = next++;
+                    int c = constraints[k];
+                    column[node] = c;
+                    candidateOf[node] = cell * digits + digit;
+
+                    // Append at the bottom of the column
+                    up[node] = up[c];
+                    down[node] = c;
+                    down[up[c]] = node;
+                    up[c] = node;
+                    size[c]++;
+
+                    left[node] = (k == 0) ? first + 3 : node - 1;
+                    right[node] = (k == 3) ? first : node + 1;
+                }
+                firstNode[cell * digits + digit] = first;
+            }
+        }
+    }
+
+    /**
+     * @return true once limit solutions have been found
+     */
+    private boolean search(int depth) {
+        if (right[ROOT] == ROOT) {
+            record(depth);
+            return ++found >= limit;
+        }
+
+        // Column with the fewest rows
+        int c = right[ROOT];
+        for (int j = right[c]; j != ROOT; j = right[j]) {
+            if (size[j] < size[c]) {
+                c = j;
+            }
+        }
+        if (size[c] == 0) {
+            return false;
+        }
+
+        cover(c);
+        boolean done = false;
+        for (int r = down[c]; r != c && !done; r = down[r]) {
+            chosen[depth] = candidateOf[r];
+            for (int j = right[r]; j != r; j = right[j]) {
+                cover(column[j]);
+            }
+            done = search(depth + 1);
+            for (int j = left[r]; j != r; j = left[j]) {
+                uncover(column[j]);
+            }
+        }
+        uncover(c);
+        return done;
+    }
+
+    private void record(int depth) {
+        if (collected == null) {
+            return;
+        }
+        int[] values = new int[emptyCount];
+        for (int i = 0; i < depth; i++) {
+            int cell = chosen[i] / digits;
+            values[emptyIndex[cell]] = chosen[i] % digits + 1;
+        }
+        collected.add(values);
+    }
+
+    private void cover(int c) {
+        right[left[c]] = right[c];
+        left[right[c]] = left[c];
+        for (int i = down[c]; i != c; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int c) {
+        for (int i = up[c]; i != c; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                size[column[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+            }
+        }
+        right[left[c]] = c;
+        left[right[c]] = c;
+    }
+}
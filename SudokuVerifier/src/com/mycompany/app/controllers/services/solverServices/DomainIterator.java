@@ -0,0 +1,177 @@
+package com.mycompany.app.controllers.services.solverServices;
+
+import java.util.Iterator;
+
+/**
+ * Iterator pattern: Generates only the permutations that fit the board.
+ *
+ * Unlike @see PermutationIterator, which walks all 9^n value combinations,
+ * this one first computes each empty cell's domain (the values not already
+ * in its row, column or box) and only walks the Cartesian product of those
+ * domains. Values are assigned position by position, and a prefix where two
+ * empty cells of the same unit got the same value is dropped together with
+ * every permutation that starts with it.
+ *
+ * Every permutation it returns passes @see Board#isValidPermutation and has
+ * no conflicts between the empty cells themselves, so it is a full solution.
+ *
+ * Same cursor style as PermutationIterator: next(buffer) fills a caller-owned
+ * buffer, next() returns a copy.
+ *
+ * @author Zeyad
+ */
+public class DomainIterator implements Iterator<int[]> {
+    private final int numPositions;
+    private final int[] domains;      // bit (v - 1) set if v is legal for the position
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] boxOf;
+
+    // Values already taken by assigned positions, per unit
+    private final int[] rowUsed = new int[9];
+    private final int[] colUsed = new int[9];
+    private final int[] boxUsed = new int[9];
+
+    private final int[] current;      // 0 = not assigned yet
+    private int position;             // next position to assign
+    private boolean hasMore;
+
+    /**
+     * Creates an iterator for the given board's empty cells.
+     * @param board          The Sudoku board (not modified)
+     * @param emptyPositions Empty cells encoded as row * 9 + col
+     */
+    public DomainIterator(int[][] board, int[] emptyPositions) {
+        this.numPositions = emptyPositions.length;
+        this.domains = new int[numPositions];
+        this.rowOf = new int[numPositions];
+        this.colOf = new int[numPositions];
+        this.boxOf = new int[numPositions];
+        this.current = new int[numPositions];
+
+        int[] rowGivens = new int[9];
+        int[] colGivens = new int[9];
+        int[] boxGivens = new int[9];
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                int value = board[row][col];
+                if (value != 0) {
+                    int bit = 1 << (value - 1);
+                    rowGivens[row] |= bit;
+                    colGivens[col] |= bit;
+                    boxGivens[(row / 3) * 3 + col / 3] |= bit;
+                }
+            }
+        }
+
+        for (int i = 0; i < numPositions; i++) {
+            int row = emptyPositions[i] / 9;
+            int col = emptyPositions[i] % 9;
+            int box = (row / 3) * 3 + col / 3;
+            rowOf[i] = row;
+            colOf[i] = col;
+            boxOf[i] = box;
+            domains[i] = ~(rowGivens[row] | colGivens[col] | boxGivens[box]) & 0x1FF;
+        }
+
+        this.position = 0;
+        this.hasMore = advance();
+    }
+
+    /**
+     * Upper bound of the permutations this iterator can produce:
+     * the product of the domain sizes (before prefix pruning).
+     */
+    public long candidateCount() {
+        long count = 1;
+        for (int domain : domains) {
+            count *= Integer.bitCount(domain);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasMore;
+    }
+
+    @Override
+    public int[] next() {
+        if (!hasMore) {
+            return null;
+        }
+
+        int[] result = new int[numPositions];
+        next(result);
+        return result;
+    }
+
+    /**
+     * Copies the next permutation into buffer and advances.
+     *
+     * @param buffer Array of at least numPositions ints, overwritten
+     * @return false (buffer untouched) if no more permutations
+     */
+    public boolean next(int[] buffer) {
+        if (!hasMore) {
+            return false;
+        }
+
+        System.arraycopy(current, 0, buffer, 0, numPositions);
+
+        // Resume from the last position: try its next value
+        position = numPositions - 1;
+        hasMore = numPositions > 0 && advance();
+        return true;
+    }
+
+    /**
+     * Depth-first walk to the next complete assignment.
+     * Resumes at "position", trying values above the one it currently holds.
+     * @return false if the whole space is exhausted
+     */
+    private boolean advance() {
+        while (position >= 0) {
+            if (position == numPositions) {
+                return true;
+            }
+
+            int previous = current[position];
+            if (previous != 0) {
+                unassign(position, previous);
+            }
+
+            // Values in the domain, above the previous one, not taken in the same units
+            int free = domains[position]
+                    & ~(rowUsed[rowOf[position]] | colUsed[colOf[position]] | boxUsed[boxOf[position]])
+                    & (0x1FF << previous);
+
+            if (free == 0) {
+                // Prune: no value fits this prefix, back up one position
+                current[position] = 0;
+                position--;
+                continue;
+            }
+
+            int value = Integer.numberOfTrailingZeros(free) + 1;
+            assign(position, value);
+            position++;
+        }
+        return false;
+    }
+
+    private void assign(int i, int value) {
+        int bit = 1 << (value - 1);
+        current[i] = value;
+        rowUsed[rowOf[i]] |= bit;
+        colUsed[colOf[i]] |= bit;
+        boxUsed[boxOf[i]] |= bit;
+    }
+
+    private void unassign(int i, int value) {
+        int bit = ~(1 << (value - 1));
+        rowUsed[rowOf[i]] &= bit;
+        colUsed[colOf[i]] &= bit;
+        boxUsed[boxOf[i]] &= bit;
+    }
+}
@@ -0,0 +1,138 @@
+package com.mycompany.app.controllers.services.solverServices;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how much of a permutation scan is spent handing out work.
+ *
+ * Compares two ways for N workers to cover the 9^5 space:
+ * - shared counter: every permutation is claimed with one atomic increment
+ *   (the cheapest possible central dispatcher)
+ * - contiguous slices: worker i claims [i * total / N, (i + 1) * total / N)
+ *   once through the PermutationIterator range constructor
+ *
+ * The board has no valid permutation, so both scan the whole space.
+ * Run: java com.mycompany.app.controllers.services.solverServices.PermutationBenchmark
+ *
+ * @author Zeyad
+ */
+public class PermutationBenchmark {
+    private static final int POSITIONS = 5;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 20;
+
+    // Keeps the JIT from dropping the verifier calls
+    private static volatile int sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        // Cell (0,6) can only be 9, which the column already has
+        int[][] board = {
+                { 5, 3, 4, 6, 7, 8, 0, 1, 2 },
+                { 6, 7, 2, 1, 9, 5, 9, 4, 8 },
+                { 1, 9, 8, 3, 4, 2, 5, 6, 7 },
+                { 8, 5, 9, 7, 6, 1, 4, 2, 3 },
+                { 4, 2, 6, 8, 5, 3, 7, 0, 1 },
+                { 7, 1, 3, 9, 0, 4, 8, 5, 6 },
+                { 9, 6, 1, 5, 0, 7, 2, 0, 4 },
+                { 2, 8, 7, 4, 1, 9, 6, 3, 5 },
+                { 3, 4, 5, 2, 8, 6, 1, 7, 9 }
+        };
+        int[] emptyPositions = { 6, 43, 49, 58, 61 };
+        Board verifier = new PermutationVerifier(board, emptyPositions);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("Cores: " + cores + ", permutations: " + PermutationIterator.count(POSITIONS));
+        System.out.println("workers | shared counter ms | slices ms | slice setup ns/worker");
+
+        for (int workers = 1; workers <= Math.max(2 * cores, 2); workers *= 2) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                runSharedCounter(verifier, board, emptyPositions, workers);
+                runSlices(verifier, board, emptyPositions, workers);
+            }
+
+            long sharedNanos = 0;
+            long sliceNanos = 0;
+            long setupNanos = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                runSharedCounter(verifier, board, emptyPositions, workers);
+                sharedNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                setupNanos += runSlices(verifier, board, emptyPositions, workers);
+                sliceNanos += System.nanoTime() - start;
+            }
+
+            System.out.printf("%7d | %17.3f | %9.3f | %21d%n",
+                    workers,
+                    sharedNanos / 1e6 / MEASURED_ROUNDS,
+                    sliceNanos / 1e6 / MEASURED_ROUNDS,
+                    setupNanos / MEASURED_ROUNDS / workers);
+        }
+    }
+
+    private static void runSharedCounter(Board verifier, int[][] board, int[] emptyPositions, int workers)
+            throws InterruptedException {
+        long total = PermutationIterator.count(POSITIONS);
+        AtomicLong next = new AtomicLong();
+
+        Thread[] threads = new Thread[workers];
+        for (int w = 0; w < workers; w++) {
+            threads[w] = new Thread(() -> {
+                int[] permutation = new int[POSITIONS];
+                int valid = 0;
+                long index;
+                while ((index = next.getAndIncrement()) < total) {
+                    PermutationIterator.decode(index, permutation);
+                    if (verifier.isValidPermutation(board, emptyPositions, permutation)) {
+                        valid++;
+                    }
+                }
+                sink = valid;
+            });
+            threads[w].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    /**
+     * @return Total nanoseconds the workers spent claiming their slice
+     */
+    private static long runSlices(Board verifier, int[][] board, int[] emptyPositions, int workers)
+            throws InterruptedException {
+        long total = PermutationIterator.count(POSITIONS);
+        long[] setupNanos = new long[workers];
+
+        Thread[] threads = new Thread[workers];
+        for (int w = 0; w < workers; w++) {
+            final int id = w;
+            threads[w] = new Thread(() -> {
+                long start = System.nanoTime();
+                PermutationIterator slice = new PermutationIterator(POSITIONS,
+                        id * total / workers, (id + 1) * total / workers);
+                int[] permutation = new int[POSITIONS];
+                setupNanos[id] = System.nanoTime() - start;
+
+                int valid = 0;
+                while (slice.next(permutation)) {
+                    if (verifier.isValidPermutation(board, emptyPositions, permutation)) {
+                        valid++;
+                    }
+                }
+                sink = valid;
+            });
+            threads[w].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        long sum = 0;
+        for (long nanos : setupNanos) {
+            sum += nanos;
+        }
+        return sum;
+    }
+}
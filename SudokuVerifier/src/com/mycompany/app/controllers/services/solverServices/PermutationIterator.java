@@ -4,63 +4,143 @@ import java.util.Iterator;
 
 /**
  * Iterator pattern: Generates permutations on demand.
- * 
+ *
  * Generates all possible combinations of n positions with values 1-9.
  * For 5 positions: generates [1,1,1,1,1] through [9,9,9,9,9]
  * Total combinations: 9^5 = 59,049
- * 
+ *
  * Memory efficient: generates one at a time, doesn't store all combinations.
- * 
+ *
+ * Two ways to consume it:
+ * - next(): Iterator contract, returns a fresh copy per permutation
+ * - next(buffer): cursor, fills a caller-owned buffer in place (no allocation)
+ *
+ * Splittable: trySplit() hands the second half of the remaining permutations
+ * to a new iterator, so workers can divide the space without a dispatcher.
+ *
+ * Random access: permutations are numbered 0..9^n-1 in odometer order
+ * ([1,1,1,1,1] is 0, [1,1,1,1,2] is 1, ...). decode() turns a number into its
+ * permutation and the range constructor iterates [from, to), so a worker can
+ * claim a contiguous slice once and never talk to the others again.
+ *
  * @author Zeyad
  */
 public class PermutationIterator implements Iterator<int[]>{
-    private int[] current;
-    private int numPositions;
-    private int maxValue;
-    private boolean hasMore;
-    
+    private final int[] current;
+    private final int numPositions;
+    private final int maxValue;
+    private long index;   // odometer index of current
+    private long end;     // exclusive
+
     /**
      * Creates an iterator for generating permutations.
      * @param numPositions Number of positions (5 for empty cells)
      */
     public PermutationIterator(int numPositions) {
+        this(numPositions, 0, count(numPositions));
+    }
+
+    /**
+     * Creates an iterator over the permutations numbered [from, to).
+     * @param numPositions Number of positions
+     * @param from First permutation number (inclusive)
+     * @param to Last permutation number (exclusive)
+     */
+    public PermutationIterator(int numPositions, long from, long to) {
+        if (from < 0 || from > to || to > count(numPositions)) {
+            throw new IllegalArgumentException(
+                    "Invalid range [" + from + ", " + to + ") for " + numPositions + " positions");
+        }
         this.numPositions = numPositions;
         this.maxValue = 9;
         this.current = new int[numPositions];
-        this.hasMore = true;
-        
-        // Initialize to first permutation: [1,1,1,1,1]
+        this.index = from;
+        this.end = to;
+
+        // Initialize to permutation number "from": [1,1,1,1,1] for 0
+        decode(from, current);
+    }
+
+    /**
+     * Total number of permutations for numPositions positions (9^n).
+     */
+    public static long count(int numPositions) {
+        if (numPositions < 0 || numPositions > 19) {
+            throw new IllegalArgumentException("Number of positions must be 0-19, got: " + numPositions);
+        }
+        long result = 1;
         for (int i = 0; i < numPositions; i++) {
-            current[i] = 1;
+            result *= 9;
         }
+        return result;
     }
-    
+
+    /**
+     * Writes permutation number index into buffer (one value per position).
+     * @param index Permutation number, 0 to 9^buffer.length - 1
+     * @param buffer Array whose length is the number of positions, overwritten
+     */
+    public static void decode(long index, int[] buffer) {
+        for (int i = buffer.length - 1; i >= 0; i--) {
+            buffer[i] = (int) (index % 9) + 1;
+            index /= 9;
+        }
+    }
+
+    /**
+     * Inverse of decode.
+     * @return The permutation number of permutation
+     */
+    public static long encode(int[] permutation) {
+        long index = 0;
+        for (int value : permutation) {
+            index = index * 9 + (value - 1);
+        }
+        return index;
+    }
+
     /**
      * Checks if there are more permutations to generate.
      * @return true if more permutations available
      */
     @Override
     public boolean hasNext() {
-        return hasMore;
+        return index < end;
     }
-    
+
     /**
      * Gets the next permutation.
-     * 
+     *
      * @return Copy of the next permutation, or null if no more
      */
     @Override
     public int[] next() {
-        if (!hasMore) {
+        if (!hasNext()) {
             return null;
         }
-        
-        // Make a copy to return (current state BEFORE incrementing)
-        int[] result = current.clone();
-        
+
+        int[] result = new int[numPositions];
+        next(result);
+        return result;
+    }
+
+    /**
+     * Copies the next permutation into buffer and advances.
+     *
+     * @param buffer Array of at least numPositions ints, overwritten
+     * @return false (buffer untouched) if no more permutations
+     */
+    public boolean next(int[] buffer) {
+        if (!hasNext()) {
+            return false;
+        }
+
+        // Copy current state BEFORE incrementing
+        System.arraycopy(current, 0, buffer, 0, numPositions);
+
         // increment current for next call
         int position = numPositions - 1;
-        
+
         while (position >= 0) {
             if (current[position] < maxValue) {
                 // Can increment this position
@@ -72,12 +152,38 @@ public class PermutationIterator implements Iterator<int[]>{
                 position--;
             }
         }
-        
-        if (position < 0) {
-            hasMore = false;
+
+        index++;
+        return true;
+    }
+
+    /**
+     * Splits off the second half of the remaining permutations.
+     * This iterator keeps the first half.
+     *
+     * @return Iterator over the second half, or null if less than 2 remain
+     */
+    public PermutationIterator trySplit() {
+        long remaining = end - index;
+        if (remaining < 2) {
+            return null;
         }
-        
-        return result;
+
+        long mid = index + remaining / 2;
+        PermutationIterator second = new PermutationIterator(numPositions, mid, end);
+        end = mid;
+        return second;
+    }
+
+    /**
+     * @return Number of permutations this iterator will still produce
+     */
+    public long remaining() {
+        return end - index;
     }
-    
+
+    public int getNumPositions() {
+        return numPositions;
+    }
+
 }
@@ -0,0 +1,97 @@
+package com.mycompany.app.controllers.services.solverServices;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Spliterator over the permutations of a @see PermutationIterator.
+ *
+ * Each permutation is packed into one int (4 bits per position, first position
+ * in the highest nibble) so it can flow through IntStream without boxing or
+ * array copies. Use unpack() to get the values back.
+ *
+ * Usage:
+ * StreamSupport.intStream(new PermutationSpliterator(5), true)
+ *         .filter(...)
+ *
+ * @author Zeyad
+ */
+public class PermutationSpliterator implements Spliterator.OfInt {
+    // 4 bits per position, 7 positions keep the packed value positive
+    public static final int MAX_POSITIONS = 7;
+    private static final int BITS_PER_POSITION = 4;
+
+    private final PermutationIterator iterator;
+    private final int[] buffer;
+
+    /**
+     * @param numPositions Number of positions (at most 7)
+     */
+    public PermutationSpliterator(int numPositions) {
+        this(new PermutationIterator(numPositions));
+    }
+
+    private PermutationSpliterator(PermutationIterator iterator) {
+        if (iterator.getNumPositions() > MAX_POSITIONS) {
+            throw new IllegalArgumentException(
+                    "At most " + MAX_POSITIONS + " positions can be packed, got " + iterator.getNumPositions());
+        }
+        this.iterator = iterator;
+        this.buffer = new int[iterator.getNumPositions()];
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (!iterator.next(buffer)) {
+            return false;
+        }
+        action.accept(pack(buffer));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        while (iterator.next(buffer)) {
+            action.accept(pack(buffer));
+        }
+    }
+
+    @Override
+    public PermutationSpliterator trySplit() {
+        PermutationIterator second = iterator.trySplit();
+        return (second != null) ? new PermutationSpliterator(second) : null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return iterator.remaining();
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Packs a permutation into one int.
+     */
+    public static int pack(int[] permutation) {
+        int packed = 0;
+        for (int value : permutation) {
+            packed = (packed << BITS_PER_POSITION) | value;
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks a value produced by this spliterator into buffer.
+     * @param packed The packed permutation
+     * @param buffer Array whose length is the number of positions, overwritten
+     */
+    public static void unpack(int packed, int[] buffer) {
+        for (int i = buffer.length - 1; i >= 0; i--) {
+            buffer[i] = packed & ((1 << BITS_PER_POSITION) - 1);
+            packed >>>= BITS_PER_POSITION;
+        }
+    }
+}
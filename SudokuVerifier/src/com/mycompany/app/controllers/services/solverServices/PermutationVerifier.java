@@ -25,8 +25,8 @@ public class PermutationVerifier implements Board {
         // Check each value in the permutation
         for (int i = 0; i < permutation.length; i++) {
             int position = emptyPositions[i];
-            int row = position / 9;
-            int col = position % 9;
+            int row = position / board.length;
+            int col = position % board.length;
             int value = permutation[i];
 
             // Check if this value can be placed at this position
@@ -41,26 +41,29 @@ public class PermutationVerifier implements Board {
 
     @Override
     public boolean canPlaceValue(int[][] board, int row, int col, int value) {
+        int size = board.length;
+        int boxSize = (int) Math.sqrt(size);
+
         // Check if found already in row
-        for (int c = 0; c < 9; c++) {
+        for (int c = 0; c < size; c++) {
             if (board[row][c] == value) {
                 return false;
             }
         }
 
         // Check if found already in column
-        for (int r = 0; r < 9; r++) {
+        for (int r = 0; r < size; r++) {
             if (board[r][col] == value) {
                 return false;
             }
         }
 
         // Check if found already in box
-        int boxStartRow = (row / 3) * 3;
-        int boxStartCol = (col / 3) * 3;
+        int boxStartRow = (row / boxSize) * boxSize;
+        int boxStartCol = (col / boxSize) * boxSize;
 
-        for (int r = boxStartRow; r < boxStartRow + 3; r++) {
-            for (int c = boxStartCol; c < boxStartCol + 3; c++) {
+        for (int r = boxStartRow; r < boxStartRow + boxSize; r++) {
+            for (int c = boxStartCol; c < boxStartCol + boxSize; c++) {
                 if (board[r][c] == value) {
                     return false;
                 }
@@ -0,0 +1,123 @@
+package com.mycompany.app.controllers.services.solverServices;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of solver results, keyed by the board's Zobrist hash
+ * (@see com.mycompany.app.utility.ZobristHash).
+ *
+ * Each entry keeps a copy of the board it was solved for, so a hash
+ * collision can never return the wrong solution: a lookup only hits when
+ * the cells (and the board size) match too. Least recently used entries are dropped once the
+ * cache is full. Hits and misses are counted for monitoring.
+ *
+ * Thread-safe: all methods are synchronized.
+ *
+ * @author Zeyad
+ */
+public class SolveCache {
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private static class Entry {
+        final byte[] cells;   // board the solution belongs to
+        final int[] solution; // values of its empty cells, row-major
+
+        Entry(byte[] cells, int[] solution) {
+            this.cells = cells;
+            this.solution = solution;
+        }
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<Long, Entry> entries;
+    private long hits;
+    private long misses;
+
+    public SolveCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public SolveCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache needs room for at least one entry, got: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        // Access order: iteration starts at the least recently used entry
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > SolveCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param hash  Zobrist hash of board
+     * @param board The board being solved
+     * @return Copy of the cached solution, or null on a miss
+     */
+    public synchronized int[] get(long hash, int[][] board) {
+        Entry entry = entries.get(hash);
+        if (entry == null || !sameCells(entry.cells, board)) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.solution.clone();
+    }
+
+    /**
+     * Stores a solution. The board and solution are copied.
+     */
+    public synchronized void put(long hash, int[][] board, int[] solution) {
+        entries.put(hash, new Entry(pack(board), solution.clone()));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return (lookups == 0) ? 0 : (double) hits / lookups;
+    }
+
+    private static byte[] pack(int[][] board) {
+        int size = board.length;
+        byte[] cells = new byte[size * size];
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = (byte) board[cell / size][cell % size];
+        }
+        return cells;
+    }
+
+    private static boolean sameCells(byte[] cells, int[][] board) {
+        int size = board.length;
+        if (cells.length != size * size) {
+            return false;
+        }
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] != board[cell / size][cell % size]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,133 @@
+package com.mycompany.app.controllers.services.solverServices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.mycompany.app.controllers.services.storageServices.GameGenerator;
+import com.mycompany.app.exceptions.InvalidGame;
+import com.mycompany.app.models.BoardGeometry;
+import com.mycompany.app.models.Game;
+
+/**
+ * Compares the @see SolverEngine implementations on a few reference boards.
+ *
+ * The permutation engines are only timed on the 5-empty-cell board, the
+ * others on every board, including an empty one where naive backtracking
+ * has the most room to explode. A second table times the engines that
+ * support every size on generated 4x4 to 25x25 puzzles (unique solution,
+ * HARD share of empty cells), plus the time to generate each puzzle.
+ * Run: java com.mycompany.app.controllers.services.solverServices.SolverBenchmark
+ *
+ * @author Zeyad
+ */
+public class SolverBenchmark {
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 200;
+
+    private static final String[] NAMES = {
+            "5 empty cells",
+            "easy (51 empty)",
+            "hard (60 empty)",
+            "17 clues (64 empty)",
+            "empty board"
+    };
+
+    private static final String[] BOARDS = {
+            "534678.126721953481983425678597614234268537.17139.48569615.72.4287419635345286179",
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79",
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......",
+            "................................................................................."
+    };
+
+    public static void main(String[] args) throws InvalidGame {
+        System.out.printf("%-20s", "board");
+        for (SolverEngine engine : SolverEngine.values()) {
+            System.out.printf(" | %18s", engine);
+        }
+        System.out.println();
+
+        for (int b = 0; b < BOARDS.length; b++) {
+            int[][] board = parse(BOARDS[b]);
+            int empty = BOARDS[b].length() - BOARDS[b].replace(".", "").length();
+
+            System.out.printf("%-20s", NAMES[b]);
+            for (SolverEngine engine : SolverEngine.values()) {
+                boolean permutationOnly = engine == SolverEngine.PERMUTATION
+                        || engine == SolverEngine.PRUNED_PERMUTATION;
+                if (permutationOnly && empty != 5) {
+                    System.out.printf(" | %18s", "-");
+                    continue;
+                }
+                System.out.printf(" | %15.1f us", time(engine, board));
+            }
+            System.out.println();
+        }
+
+        System.out.println();
+        System.out.printf("%-20s | %18s | %18s | %18s%n", "size", "generate", "CONSTRAINT", "DANCING_LINKS");
+        Random random = new Random(42);
+        GameGenerator generator = new GameGenerator();
+        for (int boxSize = BoardGeometry.MIN_BOX_SIZE; boxSize <= BoardGeometry.MAX_BOX_SIZE; boxSize++) {
+            int size = boxSize * boxSize;
+            long start = System.nanoTime();
+            int[][] board = generator.generateGame(new Game(solvedBoard(boxSize, random)), "HARD").board;
+            double generateMs = (System.nanoTime() - start) / 1e6;
+            int rounds = (size > 9) ? 20 : MEASURED_ROUNDS;
+            int empty = new Game(board).countEmptyCells(board);
+
+            System.out.printf("%-20s | %15.1f ms | %15.1f us | %15.1f us%n",
+                    size + "x" + size + " (" + empty + " empty)", generateMs,
+                    time(SolverEngine.CONSTRAINT, board, rounds),
+                    time(SolverEngine.DANCING_LINKS, board, rounds));
+        }
+    }
+
+    private static double time(SolverEngine engine, int[][] board) throws InvalidGame {
+        return time(engine, board, MEASURED_ROUNDS);
+    }
+
+    private static double time(SolverEngine engine, int[][] board, int rounds) throws InvalidGame {
+        for (int i = 0; i < Math.min(WARMUP_ROUNDS, rounds); i++) {
+            engine.solve(board);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            engine.solve(board);
+        }
+        return (System.nanoTime() - start) / 1e3 / rounds;
+    }
+
+    /**
+     * Valid solved board of any size: shifted-row pattern with the digits
+     * randomly relabelled.
+     */
+    private static int[][] solvedBoard(int boxSize, Random random) {
+        int size = boxSize * boxSize;
+        List<Integer> digits = new ArrayList<>();
+        for (int d = 1; d <= size; d++) {
+            digits.add(d);
+        }
+        Collections.shuffle(digits, random);
+
+        int[][] board = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int pattern = (boxSize * (row % boxSize) + row / boxSize + col) % size;
+                board[row][col] = digits.get(pattern);
+            }
+        }
+        return board;
+    }
+
+    private static int[][] parse(String puzzle) {
+        int[][] board = new int[9][9];
+        for (int i = 0; i < 81; i++) {
+            char ch = puzzle.charAt(i);
+            board[i / 9][i % 9] = (ch == '.') ? 0 : ch - '0';
+        }
+        return board;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mycompany.app.controllers.services.solverServices;
+
+import com.mycompany.app.exceptions.InvalidGame;
+
+/**
+ * Strategy pattern: the solver engines that share the solve contract.
+ *
+ * Every engine returns the values of the board's empty cells in row-major
+ * order (same order as Game.findEmptyCells) and never modifies the board.
+ *
+ * @author Zeyad
+ */
+public enum SolverEngine {
+    /** Bitmask propagation + MRV backtracking, any number of empty cells, 4x4 to 25x25 */
+    CONSTRAINT {
+        @Override
+        public int[] solve(int[][] board) throws InvalidGame {
+            return ConstraintSolver.solve(board);
+        }
+    },
+
+    /** Dancing Links exact cover, predictable on near-empty boards, 4x4 to 25x25 */
+    DANCING_LINKS {
+        @Override
+        public int[] solve(int[][] board) throws InvalidGame {
+            return DancingLinksSolver.solve(board);
+        }
+    },
+
+    /** Parallel 9^5 permutation scan, exactly 5 empty cells, 9x9 only */
+    PERMUTATION {
+        @Override
+        public int[] solve(int[][] board) throws InvalidGame {
+            return SudokuSolver.solve(board);
+        }
+    },
+
+    /** Domain-pruned permutation walk, meant for a few empty cells, 9x9 only */
+    PRUNED_PERMUTATION {
+        @Override
+        public int[] solve(int[][] board) throws InvalidGame {
+            return SudokuSolver.solvePruned(board);
+        }
+    };
+
+    public abstract int[] solve(int[][] board) throws InvalidGame;
+}
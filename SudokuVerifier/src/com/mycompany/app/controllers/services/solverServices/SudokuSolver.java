@@ -1,22 +1,32 @@
 package com.mycompany.app.controllers.services.solverServices;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.mycompany.app.exceptions.InvalidGame;
 import com.mycompany.app.models.Game;
 
 /**
- * Sudoku Solver using Iterator and Flyweight patterns with worker threads.
+ * Sudoku Solver using Iterator and Flyweight patterns on a ForkJoin pool.
  *
  * - Iterator: PermutationIterator generates 9^5 combinations on-demand -
- * Flyweight: Board shared across threads, only permutation is copied - No
- * synchronized/volatile/thread-safe structures used
+ * Flyweight: Board shared across tasks, only the permutation buffer is per task -
+ * ForkJoin: each task splits its PermutationIterator in half until it is small
+ * enough, idle workers steal the halves nobody has started yet
+ *
+ * The first task to find a valid permutation publishes it through an
+ * AtomicReference, every other task sees it and stops at its next step.
  *
  * @author Zeyad
  */
 public class SudokuSolver {
+    // Iterators with at most this many permutations are walked by one task
+    private static final long SEQUENTIAL_THRESHOLD = 1024;
 
     public static int[] solve(int[][] board) throws InvalidGame {
+        requireNineByNine(board);
         Game currentGame = new Game(board);
         int[] emptyPositions = currentGame.findEmptyCells(board);
 
@@ -24,60 +34,121 @@ public class SudokuSolver {
             throw new InvalidGame("Game must have exactly 5 empty cells, found: " + emptyPositions.length);
         }
 
-        int numWorkers = Runtime.getRuntime().availableProcessors();
         Board verifier = new PermutationVerifier(board, emptyPositions); // Flyweight
         PermutationIterator iterator = new PermutationIterator(5); // Iterator
+        AtomicReference<int[]> solution = new AtomicReference<>(); // Found solution
 
-        int[][] taskSlots = new int[numWorkers][]; // Task for each worker
-        boolean[] hasTask = new boolean[numWorkers]; // Does worker have a task?
-        boolean[] running = {true}; // Workers should keep running
-        int[][] solution = {null}; // Found solution
-
-        // Create and start workers
-        Thread[] workers = new Thread[numWorkers];
-        for (int i = 0; i < numWorkers; i++) {
-            final int id = i;
-            workers[i] = new Thread(() -> {
-                while (running[0] && solution[0] == null) {
-                    if (hasTask[id]) {
-                        int[] perm = taskSlots[id];
-                        hasTask[id] = false;
-
-                        if (verifier.isValidPermutation(board, emptyPositions, perm)) {
-                            solution[0] = perm;
-                        }
-                    }
-                    Thread.yield();
-                }
-            });
-            workers[i].start();
+        ForkJoinPool.commonPool().invoke(
+                new SearchTask(verifier, board, emptyPositions, iterator, solution));
+
+        if (solution.get() == null) {
+            throw new InvalidGame("No valid solution exists");
         }
+        return solution.get();
+    }
 
-        // Dispatch permutations to workers
-        int w = 0;
-        while (iterator.hasNext() && solution[0] == null) {
-            if (!hasTask[w]) {
-                taskSlots[w] = iterator.next();
-                hasTask[w] = true;
-                w = (w + 1) % numWorkers;
-            } else {
-                w = (w + 1) % numWorkers;
-            }
+    /**
+     * Counts the solutions of the board, stopping as soon as limit is reached.
+     * Uses the @see ConstraintSolver search, any number of empty cells and
+     * any supported board size.
+     *
+     * @param limit Stop after this many solutions (2 is enough for uniqueness)
+     * @return Number of solutions, at most limit
+     * @throws InvalidGame if the board has conflicting values
+     */
+    public static long countSolutions(int[][] board, long limit) throws InvalidGame {
+        return ConstraintSolver.countSolutions(board, limit);
+    }
+
+    /**
+     * @return true if the board has exactly one solution
+     * @throws InvalidGame if the board has conflicting values
+     */
+    public static boolean hasUniqueSolution(int[][] board) throws InvalidGame {
+        return countSolutions(board, 2) == 1;
+    }
+
+    /**
+     * Same contract as solve, but walks only the values each empty cell can
+     * still take (@see DomainIterator) instead of all 9^5 permutations.
+     * On typical boards that is a handful of candidates, so it runs on the
+     * calling thread. Works for any number of empty cells.
+     */
+    public static int[] solvePruned(int[][] board) throws InvalidGame {
+        requireNineByNine(board);
+        Game currentGame = new Game(board);
+        int[] emptyPositions = currentGame.findEmptyCells(board);
+
+        DomainIterator iterator = new DomainIterator(board, emptyPositions); // Iterator
+        int[] permutation = new int[emptyPositions.length];
+
+        // Every permutation it yields already fits the board
+        if (!iterator.next(permutation)) {
+            throw new InvalidGame("No valid solution exists");
+        }
+        return permutation;
+    }
+
+    /**
+     * The permutation engines walk digits 1-9 only; bigger boards go through
+     * @see ConstraintSolver or @see DancingLinksSolver.
+     */
+    private static void requireNineByNine(int[][] board) throws InvalidGame {
+        if (board == null || board.length != 9) {
+            throw new InvalidGame("Permutation solver only supports 9x9 boards, found "
+                    + ((board == null) ? 0 : board.length) + " rows");
         }
+    }
+
+    /**
+     * Searches the permutations left in its iterator.
+     */
+    private static class SearchTask extends RecursiveAction {
+        private final Board verifier;
+        private final int[][] board;
+        private final int[] emptyPositions;
+        private final PermutationIterator iterator;
+        private final AtomicReference<int[]> solution;
 
-        // Shutdown and wait
-        running[0] = false;
-        for (Thread t : workers) {
-            try {
-                t.join();
-            } catch (InterruptedException e) {
+        SearchTask(Board verifier, int[][] board, int[] emptyPositions,
+                PermutationIterator iterator, AtomicReference<int[]> solution) {
+            this.verifier = verifier;
+            this.board = board;
+            this.emptyPositions = emptyPositions;
+            this.iterator = iterator;
+            this.solution = solution;
+        }
+
+        @Override
+        protected void compute() {
+            if (solution.get() != null) {
+                return; // Another task already found it
+            }
+            if (iterator.remaining() <= SEQUENTIAL_THRESHOLD) {
+                searchSequentially();
+                return;
             }
+
+            PermutationIterator secondHalf = iterator.trySplit();
+            invokeAll(
+                    new SearchTask(verifier, board, emptyPositions, iterator, solution),
+                    new SearchTask(verifier, board, emptyPositions, secondHalf, solution));
         }
 
-        if (solution[0] == null) {
-            throw new InvalidGame("No valid solution exists");
+        private void searchSequentially() {
+            int[] permutation = new int[emptyPositions.length];
+
+            while (iterator.next(permutation)) {
+                if (solution.get() != null) {
+                    return;
+                }
+                if (verifier.isValidPermutation(board, emptyPositions, permutation)) {
+                    // Buffer is not touched again, safe to hand over
+                    solution.compareAndSet(null, permutation);
+                    return;
+                }
+            }
         }
-        return solution[0];
     }
 
     /**
@@ -101,6 +172,9 @@ public class SudokuSolver {
              System.out.println("Empty cells found: " + emptyPositions.length);
              int[] solution = SudokuSolver.solve(testBoard);
              System.out.println("Solution found: " + Arrays.toString(solution));
+             DomainIterator pruned = new DomainIterator(testBoard, emptyPositions);
+             System.out.println("Pruned candidates: " + pruned.candidateCount());
+             System.out.println("Pruned solution: " + Arrays.toString(SudokuSolver.solvePruned(testBoard)));
          } catch (Exception e) {
              System.out.println("Error: " + e.getMessage());
          }
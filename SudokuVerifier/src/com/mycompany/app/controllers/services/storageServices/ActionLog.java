@@ -0,0 +1,281 @@
+package com.mycompany.app.controllers.services.storageServices;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.mycompany.app.models.UserAction;
+
+/**
+ * Append-only binary log of @see UserAction records on one open channel.
+ *
+ * File Format:
+ * header (16 bytes, big-endian)
+ *   magic "SDKL" (4) | version (2) | reserved (2) | base (8)
+ * records (4 bytes each)
+ *   x | y | value | previousValue   (one unsigned byte each)
+ *
+ * Every action has a sequence number, counted from the start of the game;
+ * base is the number of the first record still in the file. Every record
+ * has the same size, so the last action is always the last 4 bytes: undo
+ * reads them and truncates the file, whatever the length of the game.
+ * compact() drops the oldest records once a checkpoint covers them.
+ * A record cut short by a crash is dropped when the log is opened.
+ *
+ * The records are also kept in memory, packed into one int each
+ * (@see #pack(UserAction)), so reading them never touches the file and
+ * a checkpoint can copy the ones it includes (@see Checkpoint).
+ *
+ * Thread-safe: all methods are synchronized.
+ *
+ * @author Nour
+ */
+public class ActionLog implements Closeable {
+    public static final int RECORD_SIZE = 4;
+    public static final int HEADER_SIZE = 16;
+    private static final int MAGIC = 0x53444B4C; // "SDKL"
+    private static final short VERSION = 1;
+
+    private final Path path;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private FileChannel channel;
+    private long base;  // sequence number of the first record in the file
+    private int count;  // records in the file
+    private int[] records = new int[64]; // the records in the file, packed
+
+    /**
+     * Opens the log, creating an empty one if the file does not exist.
+     */
+    public ActionLog(Path path) throws IOException {
+        this.path = path;
+        this.channel = open(path);
+        try {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (size >= HEADER_SIZE) {
+                readFully(header, 0);
+            }
+
+            if (size == 0) {
+                rewrite(0, new int[64], 0);
+            } else {
+                if (size < HEADER_SIZE || header.getInt(0) != MAGIC) {
+                    throw new IOException("Not an action log: " + path);
+                }
+                if (header.getShort(4) != VERSION) {
+                    throw new IOException("Unsupported action log version " + header.getShort(4) + ": " + path);
+                }
+                base = header.getLong(8);
+                if ((size - HEADER_SIZE) / RECORD_SIZE > Integer.MAX_VALUE - 8) {
+                    throw new IOException("Action log too large to load: " + path);
+                }
+                count = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+                if ((size - HEADER_SIZE) % RECORD_SIZE != 0) {
+                    channel.truncate(HEADER_SIZE + (long) count * RECORD_SIZE);
+                }
+                ByteBuffer data = ByteBuffer.allocate(count * RECORD_SIZE);
+                readFully(data, HEADER_SIZE);
+                data.flip();
+                records = new int[Math.max(64, count)];
+                data.asIntBuffer().get(records, 0, count);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * @return The action in one int: x, y, value, previousValue from the
+     *         high byte down, the same bytes as its record
+     */
+    public static int pack(UserAction action) {
+        return (action.getX() & 0xFF) << 24 | (action.getY() & 0xFF) << 16
+                | (action.getValue() & 0xFF) << 8 | (action.getPreviousValue() & 0xFF);
+    }
+
+    public static UserAction unpack(int packed) {
+        return new UserAction(packed >>> 24, (packed >>> 16) & 0xFF, (packed >>> 8) & 0xFF, packed & 0xFF);
+    }
+
+    public synchronized void append(UserAction action) throws IOException {
+        int packed = pack(action);
+        record.clear();
+        record.putInt(packed);
+        record.flip();
+        long position = HEADER_SIZE + (long) count * RECORD_SIZE;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        if (count == records.length) {
+            records = Arrays.copyOf(records, 2 * count);
+        }
+        records[count++] = packed;
+    }
+
+    /**
+     * @return The last action, or null if the log is empty
+     */
+    public synchronized UserAction last() {
+        return (count == 0) ? null : unpack(records[count - 1]);
+    }
+
+    /**
+     * Removes the last action.
+     * @return The removed action, or null if the log is empty
+     */
+    public synchronized UserAction removeLast() throws IOException {
+        if (count == 0) {
+            return null;
+        }
+        channel.truncate(HEADER_SIZE + (long) (count - 1) * RECORD_SIZE);
+        count--;
+        return unpack(records[count]);
+    }
+
+    /**
+     * @return All actions in the file, oldest first
+     */
+    public synchronized List<UserAction> readAll() {
+        return readFrom(base);
+    }
+
+    /**
+     * @param sequence First action wanted (actions before base are gone)
+     * @return Actions from sequence to the end, oldest first
+     */
+    public synchronized List<UserAction> readFrom(long sequence) {
+        List<UserAction> actions = new ArrayList<>();
+        for (int packed : packedFrom(sequence)) {
+            actions.add(unpack(packed));
+        }
+        return actions;
+    }
+
+    /**
+     * @param sequence First action wanted (actions before base are gone)
+     * @return Actions from sequence to the end, packed, oldest first
+     */
+    public synchronized int[] packedFrom(long sequence) {
+        int first = (int) Math.min(Math.max(sequence, base) - base, count);
+        return Arrays.copyOfRange(records, first, count);
+    }
+
+    /**
+     * Drops every action before sequence: the kept records are written to a
+     * new file that replaces this one atomically.
+     */
+    public synchronized void compact(long sequence) throws IOException {
+        int first = (int) (Math.min(sequence, end()) - base);
+        if (first <= 0) {
+            return;
+        }
+        rewrite(base + first, Arrays.copyOfRange(records, first, Math.max(first + 64, count)), count - first);
+    }
+
+    /**
+     * @param kept The records of the new file, in its first newCount ints (kept as the mirror)
+     */
+    private void rewrite(long newBase, int[] kept, int newCount) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) 0);
+        header.putLong(newBase);
+        header.flip();
+
+        ByteBuffer data = ByteBuffer.allocate(newCount * RECORD_SIZE);
+        data.asIntBuffer().put(kept, 0, newCount);
+
+        Path temp = Paths.get(path + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            while (data.hasRemaining()) {
+                out.write(data);
+            }
+            out.force(false);
+        }
+
+        channel.close();
+        try {
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // The old file is still in place: keep using it
+            try {
+                channel = open(path);
+            } catch (IOException reopen) {
+                e.addSuppressed(reopen);
+            }
+            throw e;
+        }
+        channel = open(path);
+        base = newBase;
+        count = newCount;
+        records = kept;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Action log ended early");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * @return Sequence number of the first action still in the log
+     */
+    public synchronized long getBase() {
+        return base;
+    }
+
+    /**
+     * @return Sequence number the next action will get (actions logged so far)
+     */
+    public synchronized long end() {
+        return base + count;
+    }
+
+    /**
+     * @return Actions still in the log (the ones that can be undone)
+     */
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * Empties the log and restarts the numbering at 0.
+     */
+    public synchronized void clear() throws IOException {
+        rewrite(0, new int[64], 0);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
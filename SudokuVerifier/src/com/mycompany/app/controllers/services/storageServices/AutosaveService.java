@@ -0,0 +1,185 @@
+package com.mycompany.app.controllers.services.storageServices;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind saving of the current board.
+ *
+ * save() queues a @see Checkpoint (a copy of the board, with the log
+ * sequence number it includes) and returns at once; it is written by a
+ * background thread at most once per interval, so a burst of edits costs
+ * one write of the latest board. flush() writes whatever is pending on the
+ * calling thread, discard() drops it (the game was deleted). Writes never
+ * overlap: a flush waits for a background write in progress.
+ *
+ * A board stays pending until it is written: after a failed write it is
+ * retried by the next save() or flush(), and the failure is kept until
+ * takeError() hands it to the caller (the background thread has no one to
+ * throw it to).
+ *
+ * Thread-safe.
+ *
+ * @author Nour
+ */
+public class AutosaveService implements Closeable {
+    public static final long DEFAULT_INTERVAL_MILLIS = 500;
+
+    /**
+     * Where a checkpoint is written (the caller makes the write atomic).
+     */
+    public interface Target {
+        void write(Checkpoint checkpoint) throws IOException;
+    }
+
+    private final Target target;
+    private final long intervalMillis;
+    private final ScheduledExecutorService executor;
+    private final Object writeLock = new Object();
+
+    private Checkpoint pending; // latest unsaved board, guarded by this
+    private boolean scheduled;  // a background write is queued, guarded by this
+    private long requests;
+    private long writes;
+    private IOException error; // last background failure not yet reported
+
+    public AutosaveService(Target target, long intervalMillis) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("Interval must not be negative, got: " + intervalMillis);
+        }
+        this.target = target;
+        this.intervalMillis = intervalMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a checkpoint for saving, in place of any still pending.
+     * @param checkpoint Its board must be a copy the caller no longer edits
+     */
+    public synchronized void save(Checkpoint checkpoint) {
+        pending = checkpoint;
+        requests++;
+        if (!scheduled) {
+            scheduled = true;
+            executor.schedule(this::writeInBackground, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void writeInBackground() {
+        synchronized (this) {
+            scheduled = false;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            synchronized (this) {
+                error = e; // the board is still pending
+            }
+        }
+    }
+
+    /**
+     * Writes the pending board now, if any. If the write fails the board
+     * stays pending (unless a newer one arrived meanwhile).
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            Checkpoint checkpoint;
+            synchronized (this) {
+                checkpoint = pending;
+            }
+            if (checkpoint == null) {
+                return;
+            }
+            target.write(checkpoint);
+            synchronized (this) {
+                if (pending == checkpoint) {
+                    pending = null;
+                }
+                writes++;
+                error = null;
+            }
+        }
+    }
+
+    /**
+     * @return The last background write failure, or null; cleared by the call
+     */
+    public synchronized IOException takeError() {
+        IOException e = error;
+        error = null;
+        return e;
+    }
+
+    /**
+     * Runs a follow-up job (e.g. compacting the log after a checkpoint) on
+     * the background thread, never at the same time as a write.
+     * @return false if the service is closed (the job will not run)
+     */
+    public boolean runInBackground(Runnable job) {
+        try {
+            executor.execute(() -> {
+                synchronized (writeLock) {
+                    job.run();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Drops the pending board and waits for a write in progress to finish.
+     */
+    public void discard() {
+        synchronized (writeLock) {
+            synchronized (this) {
+                pending = null;
+                error = null;
+            }
+        }
+    }
+
+    public synchronized boolean hasPending() {
+        return pending != null;
+    }
+
+    /**
+     * @return Number of save() calls
+     */
+    public synchronized long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return Number of boards actually written
+     */
+    public synchronized long getWrites() {
+        return writes;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    /**
+     * Flushes and stops the background thread.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
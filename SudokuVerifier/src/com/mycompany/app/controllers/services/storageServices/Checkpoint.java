@@ -0,0 +1,181 @@
+package com.mycompany.app.controllers.services.storageServices;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.mycompany.app.models.BoardGeometry;
+
+/**
+ * Snapshot of the game in progress: the board, which cells were given, and
+ * the log sequence number (LSN) it includes, i.e. the board after the first
+ * lsn actions of @see ActionLog. Resuming loads it and replays only the
+ * actions logged after it.
+ *
+ * It also keeps the last actions it includes, as the log held them (the
+ * ones still in the log when it was taken), so that resuming can tell
+ * whether the log still agrees: an action undone after the checkpoint was
+ * taken is missing from the log, or replaced by a later one at the same
+ * sequence number, and is reverted from the board.
+ *
+ * File Format (big-endian):
+ * magic "SDKC" (4) | version (2) | board size (1) | reserved (1) | lsn (8)
+ * givens, one bit per cell in row-major order (11 bytes for 9x9)
+ * cells, one byte each (81 bytes for 9x9)
+ * record count (4) | records, actions lsn - count to lsn - 1 packed like
+ *   @see ActionLog records (4 bytes each)
+ *
+ * Written to a temp file that is then moved over the old one.
+ *
+ * @author Nour
+ */
+public class Checkpoint {
+    private static final int MAGIC = 0x53444B43; // "SDKC"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private final int[][] board;
+    private final boolean[][] givens;
+    private final long lsn;
+    private final int[] records;
+
+    /**
+     * @param board Kept by reference
+     * @param givens Kept by reference
+     * @param records The last actions the board includes, packed
+     *        (@see ActionLog#pack(UserAction)), kept by reference
+     */
+    public Checkpoint(int[][] board, boolean[][] givens, long lsn, int[] records) {
+        this.board = board;
+        this.givens = givens;
+        this.lsn = lsn;
+        this.records = records;
+    }
+
+    /**
+     * Givens of a new game: its filled cells.
+     */
+    public static boolean[][] givensOf(int[][] board) {
+        boolean[][] givens = new boolean[board.length][board.length];
+        for (int row = 0; row < board.length; row++) {
+            for (int col = 0; col < board.length; col++) {
+                givens[row][col] = board[row][col] != 0;
+            }
+        }
+        return givens;
+    }
+
+    public int[][] getBoard() {
+        return board;
+    }
+
+    public boolean[][] getGivens() {
+        return givens;
+    }
+
+    public long getLsn() {
+        return lsn;
+    }
+
+    /**
+     * @return Actions lsn - length to lsn - 1, packed
+     */
+    public int[] getRecords() {
+        return records;
+    }
+
+    public void write(Path path) throws IOException {
+        int size = board.length;
+        int cells = size * size;
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + (cells + 7) / 8 + cells
+                + 4 + records.length * ActionLog.RECORD_SIZE);
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.put((byte) size);
+        out.put((byte) 0);
+        out.putLong(lsn);
+
+        int givensStart = out.position();
+        for (int cell = 0; cell < cells; cell++) {
+            if (givens[cell / size][cell % size]) {
+                int at = givensStart + (cell >>> 3);
+                out.put(at, (byte) (out.get(at) | (1 << (cell & 7))));
+            }
+        }
+        out.position(givensStart + (cells + 7) / 8);
+        for (int[] row : board) {
+            for (int value : row) {
+                out.put((byte) value);
+            }
+        }
+        out.putInt(records.length);
+        for (int record : records) {
+            out.putInt(record);
+        }
+        out.flip();
+
+        Path temp = Paths.get(path + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @throws IOException if the file is missing, not a checkpoint or cut short
+     */
+    public static Checkpoint read(Path path) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC) {
+            throw new IOException("Not a checkpoint: " + path);
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version + ": " + path);
+        }
+        int size = in.get();
+        in.get();
+        long lsn = in.getLong();
+        if (!BoardGeometry.isSupported(size)) {
+            throw new IOException("Invalid board size " + size + ": " + path);
+        }
+
+        int cells = size * size;
+        if (in.remaining() < (cells + 7) / 8 + cells + 4) {
+            throw new IOException("Checkpoint is truncated: " + path);
+        }
+        boolean[][] givens = new boolean[size][size];
+        int givensStart = in.position();
+        for (int cell = 0; cell < cells; cell++) {
+            givens[cell / size][cell % size] = (in.get(givensStart + (cell >>> 3)) & (1 << (cell & 7))) != 0;
+        }
+        in.position(givensStart + (cells + 7) / 8);
+        int[][] board = new int[size][size];
+        for (int[] row : board) {
+            for (int col = 0; col < size; col++) {
+                row[col] = in.get();
+            }
+        }
+        int count = in.getInt();
+        if (count < 0 || count > lsn || in.remaining() < (long) count * ActionLog.RECORD_SIZE) {
+            throw new IOException("Checkpoint is truncated: " + path);
+        }
+        int[] records = new int[count];
+        in.asIntBuffer().get(records);
+        return new Checkpoint(board, givens, lsn, records);
+    }
+}
@@ -0,0 +1,303 @@
+package com.mycompany.app.controllers.services.storageServices;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.mycompany.app.models.BoardGeometry;
+import com.mycompany.app.utility.BloomFilter;
+import com.mycompany.app.utility.SudokuCanonicalizer;
+
+/**
+ * Canonical forms of every stored puzzle of one board size, so a puzzle
+ * that is already stored (as is, or relabelled, transposed, with bands or
+ * rows swapped...) is rejected without reading the stored games.
+ *
+ * File Format:
+ * header (16 bytes, big-endian)
+ *   magic "SDKD" (4) | version (2) | board size (1) | reserved (1) | record count (8)
+ * records, the canonical form of each puzzle (@see SudokuCanonicalizer),
+ * packed like @see PuzzlePack records: 41 bytes for 9x9
+ *
+ * The records are loaded once into memory, behind an exact hash set and,
+ * in front of it, a Bloom filter: a new puzzle is almost always answered
+ * by the filter alone, and the rest by one hash set probe. Both cost the
+ * same with ten puzzles stored or ten million. New keys are appended to the
+ * file and counted in the header.
+ *
+ * Thread-safe: all methods are synchronized.
+ *
+ * @author Nour
+ */
+public class DedupIndex implements Closeable {
+    private static final int MAGIC = 0x53444B44; // "SDKD"
+    private static final short VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int size;
+    private final int bitsPerCell;
+    private final int recordSize;
+    private final SudokuCanonicalizer canonicalizer;
+
+    private byte[] records = new byte[0]; // every key, back to back
+    private int count;
+    private int[] slots = new int[0];     // hash set: record number + 1, 0 if free
+    private BloomFilter bloom;
+    private final long[] hash = new long[2];
+
+    private long lookups;
+    private long bloomRejects;
+
+    private DedupIndex(Path path, FileChannel channel, int size) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+        this.bitsPerCell = (size <= 15) ? 4 : 8;
+        this.recordSize = (size * size * bitsPerCell + 7) / 8;
+        this.canonicalizer = new SudokuCanonicalizer(size);
+    }
+
+    /**
+     * Opens an index, creating an empty one if the file does not exist.
+     * @throws IOException if the file is not an index or holds another board size
+     */
+    public static DedupIndex open(Path path, int size) throws IOException {
+        BoardGeometry.of(size); // rejects unsupported sizes
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            DedupIndex index = new DedupIndex(path, channel, size);
+            if (channel.size() == 0) {
+                index.writeHeader();
+                index.rebuild(MIN_CAPACITY);
+                return index;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            index.readFully(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a dedup index: " + path);
+            }
+            short version = header.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported dedup index version " + version + ": " + path);
+            }
+            int fileSize = header.get();
+            header.get();
+            long count = header.getLong();
+            if (fileSize != size) {
+                throw new IOException("Dedup index holds " + fileSize + "x" + fileSize + " boards, expected "
+                        + size + "x" + size + ": " + path);
+            }
+
+            // Records past the count, or cut short, were never counted: drop them
+            count = Math.min(count, (channel.size() - HEADER_SIZE) / index.recordSize);
+            if (count * index.recordSize > Integer.MAX_VALUE - 8) {
+                throw new IOException("Dedup index too large to load: " + path);
+            }
+            ByteBuffer data = ByteBuffer.allocate((int) count * index.recordSize);
+            index.readFully(data, HEADER_SIZE);
+            index.records = data.array();
+            index.count = (int) count;
+            index.rebuild(Math.max(MIN_CAPACITY, 2 * index.count));
+            return index;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The board's canonical form, packed: the key equivalent boards share
+     */
+    public synchronized byte[] key(int[][] board) {
+        int[] canonical = canonicalizer.canonicalize(board);
+        byte[] key = new byte[recordSize];
+        if (bitsPerCell == 4) {
+            for (int cell = 0; cell < canonical.length; cell++) {
+                key[cell >>> 1] |= (byte) (((cell & 1) == 0) ? canonical[cell] << 4 : canonical[cell]);
+            }
+        } else {
+            for (int cell = 0; cell < canonical.length; cell++) {
+                key[cell] = (byte) canonical[cell];
+            }
+        }
+        return key;
+    }
+
+    public synchronized boolean contains(byte[] key) {
+        checkKey(key);
+        lookups++;
+        hash(key, 0, hash);
+        if (!bloom.mightContain(hash[0], hash[1])) {
+            bloomRejects++;
+            return false;
+        }
+        return find(key, hash[0]) >= 0;
+    }
+
+    /**
+     * Adds a key and appends it to the file.
+     * @return false if it was already there
+     */
+    public synchronized boolean add(byte[] key) throws IOException {
+        if (contains(key)) {
+            return false;
+        }
+
+        ByteBuffer record = ByteBuffer.wrap(key);
+        long position = HEADER_SIZE + (long) count * recordSize;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        if ((count + 1) * recordSize > records.length) {
+            records = Arrays.copyOf(records, Math.max(MIN_CAPACITY * recordSize, records.length * 2));
+        }
+        System.arraycopy(key, 0, records, count * recordSize, recordSize);
+        count++;
+        writeHeader();
+
+        if (count > bloom.getExpectedEntries()) {
+            rebuild(2 * count);
+        } else {
+            bloom.add(hash[0], hash[1]);
+            insert(count - 1, hash[0]);
+        }
+        return true;
+    }
+
+    /**
+     * Sizes the Bloom filter for capacity keys and the hash set to at most
+     * half full, and refills both from the records.
+     */
+    private void rebuild(int capacity) {
+        bloom = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        slots = new int[Integer.highestOneBit(Math.max(capacity, MIN_CAPACITY) - 1) << 2];
+        long[] recordHash = new long[2];
+        for (int record = 0; record < count; record++) {
+            hash(records, record * recordSize, recordHash);
+            bloom.add(recordHash[0], recordHash[1]);
+            insert(record, recordHash[0]);
+        }
+    }
+
+    private void insert(int record, long h1) {
+        int mask = slots.length - 1;
+        int slot = (int) h1 & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = record + 1;
+    }
+
+    /**
+     * @return The record holding key, or -1
+     */
+    private int find(byte[] key, long h1) {
+        int mask = slots.length - 1;
+        for (int slot = (int) h1 & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int record = slots[slot] - 1;
+            if (Arrays.equals(records, record * recordSize, (record + 1) * recordSize, key, 0, recordSize)) {
+                return record;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Two independent 64-bit hashes of one record (FNV-1a with two seeds,
+     * each finished with the MurmurHash3 mixer).
+     */
+    private void hash(byte[] data, int offset, long[] out) {
+        long a = 0xCBF29CE484222325L;
+        long b = 0x84222325CBF29CE4L;
+        for (int i = offset; i < offset + recordSize; i++) {
+            a = (a ^ (data[i] & 0xFF)) * 0x100000001B3L;
+            b = (b ^ (data[i] & 0xFF)) * 0x9E3779B97F4A7C15L;
+        }
+        out[0] = mix(a);
+        out[1] = mix(b) | 1; // odd, so the Bloom probes never repeat
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private void checkKey(byte[] key) {
+        if (key.length != recordSize) {
+            throw new IllegalArgumentException("Key is " + key.length + " bytes, expected " + recordSize);
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.put((byte) size);
+        header.put((byte) 0);
+        header.putLong(count);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Dedup index ended early: " + path);
+            }
+            position += read;
+        }
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public int getBoardSize() {
+        return size;
+    }
+
+    /**
+     * @return true if rearranged copies are found too, not only relabelled
+     *         ones (@see SudokuCanonicalizer#isFullSearch())
+     */
+    public boolean isFullSearch() {
+        return canonicalizer.isFullSearch();
+    }
+
+    /**
+     * @return Number of contains() checks, including the ones add() makes
+     */
+    public synchronized long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * @return Checks the Bloom filter answered alone
+     */
+    public synchronized long getBloomRejects() {
+        return bloomRejects;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,217 @@
+package com.mycompany.app.controllers.services.storageServices;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mycompany.app.models.DifficultyEnum;
+
+/**
+ * In-memory index of the game_N.csv files in each difficulty directory.
+ *
+ * Built once at startup from the manifest (one directory listing per
+ * difficulty only if the manifest is missing or the directory changed
+ * behind our back), then kept up to date by add/remove:
+ * - nextId is an atomic counter, so naming a new file needs no listing
+ * - files is an array list, so a random pick is one index
+ * - positions maps a name to its slot, so removal is a swap with the last entry
+ *
+ * Manifest Format (storage/catalog.properties):
+ * easy.next=4
+ * easy.modified=1760680440000      (directory last-modified time when written)
+ * easy.files=game_1.csv,game_3.csv
+ *
+ * The manifest is only written by flush(). If the process dies before that,
+ * the directory time no longer matches and the next start rescans it.
+ *
+ * Thread-safe: all methods are synchronized.
+ *
+ * @author Nour
+ */
+public class GameCatalog {
+    private static final String PREFIX = "game_";
+    private static final String SUFFIX = ".csv";
+
+    private static final class Entry {
+        final AtomicInteger nextId = new AtomicInteger(1);
+        final List<String> files = new ArrayList<>();
+        final Map<String, Integer> positions = new HashMap<>();
+    }
+
+    private final Path manifest;
+    private final Map<DifficultyEnum, String> directories;
+    private final Map<DifficultyEnum, Entry> entries = new EnumMap<>(DifficultyEnum.class);
+    private boolean dirty;
+
+    /**
+     * @param manifest Manifest file (need not exist)
+     * @param directories Directory of each difficulty
+     */
+    public GameCatalog(Path manifest, Map<DifficultyEnum, String> directories) {
+        this.manifest = manifest;
+        this.directories = new EnumMap<>(directories);
+        load();
+    }
+
+    private void load() {
+        Properties properties = new Properties();
+        if (Files.exists(manifest)) {
+            try (InputStream in = Files.newInputStream(manifest)) {
+                properties.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Ignoring catalog manifest: " + e.getMessage());
+                properties.clear();
+            }
+        }
+
+        for (Map.Entry<DifficultyEnum, String> level : directories.entrySet()) {
+            String key = level.getKey().toString();
+            File directory = new File(level.getValue());
+            String modified = properties.getProperty(key + ".modified");
+            Entry entry = null;
+            if (modified != null && modified.equals(String.valueOf(directory.lastModified()))) {
+                try {
+                    entry = fromManifest(properties, key);
+                } catch (NumberFormatException e) {
+                    System.err.println("Ignoring catalog entry " + key + ": " + e.getMessage());
+                }
+            }
+            if (entry == null) {
+                entry = scan(directory);
+                dirty = true;
+            }
+            entries.put(level.getKey(), entry);
+        }
+    }
+
+    private static Entry fromManifest(Properties properties, String key) {
+        Entry entry = new Entry();
+        entry.nextId.set(Integer.parseInt(properties.getProperty(key + ".next", "1")));
+        String files = properties.getProperty(key + ".files", "");
+        for (String name : files.split(",")) {
+            if (!name.isEmpty()) {
+                add(entry, name);
+            }
+        }
+        return entry;
+    }
+
+    private static Entry scan(File directory) {
+        Entry entry = new Entry();
+        File[] files = directory.listFiles((d, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (files == null) {
+            return entry;
+        }
+        int maxNumber = 0;
+        for (File file : files) {
+            String name = file.getName();
+            add(entry, name);
+            try {
+                maxNumber = Math.max(maxNumber,
+                        Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+            } catch (NumberFormatException e) {
+                // Skip invalid filenames
+            }
+        }
+        entry.nextId.set(maxNumber + 1);
+        return entry;
+    }
+
+    private static void add(Entry entry, String name) {
+        if (entry.positions.putIfAbsent(name, entry.files.size()) == null) {
+            entry.files.add(name);
+        }
+    }
+
+    /**
+     * Reserves the next file name; the caller writes the file then calls add().
+     */
+    public synchronized String nextFilename(DifficultyEnum difficulty) {
+        dirty = true;
+        return PREFIX + entries.get(difficulty).nextId.getAndIncrement() + SUFFIX;
+    }
+
+    public synchronized void add(DifficultyEnum difficulty, String name) {
+        add(entries.get(difficulty), name);
+        dirty = true;
+    }
+
+    /**
+     * O(1): the last entry takes the removed one's slot.
+     */
+    public synchronized void remove(DifficultyEnum difficulty, String name) {
+        Entry entry = entries.get(difficulty);
+        Integer position = entry.positions.remove(name);
+        if (position == null) {
+            return;
+        }
+        String last = entry.files.remove(entry.files.size() - 1);
+        if (position < entry.files.size()) {
+            entry.files.set(position, last);
+            entry.positions.put(last, position);
+        }
+        dirty = true;
+    }
+
+    public synchronized int count(DifficultyEnum difficulty) {
+        return entries.get(difficulty).files.size();
+    }
+
+    /**
+     * @return Name of a random file, or null if there is none
+     */
+    public synchronized String pick(DifficultyEnum difficulty, Random random) {
+        List<String> files = entries.get(difficulty).files;
+        return files.isEmpty() ? null : files.get(random.nextInt(files.size()));
+    }
+
+    /**
+     * Snapshot of the file names, in no particular order.
+     */
+    public synchronized List<String> files(DifficultyEnum difficulty) {
+        return new ArrayList<>(entries.get(difficulty).files);
+    }
+
+    /**
+     * Writes the manifest if anything changed (temp file, then atomic move).
+     */
+    public synchronized void flush() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Properties properties = new Properties();
+        for (Map.Entry<DifficultyEnum, Entry> level : entries.entrySet()) {
+            String key = level.getKey().toString();
+            Entry entry = level.getValue();
+            properties.setProperty(key + ".next", String.valueOf(entry.nextId.get()));
+            properties.setProperty(key + ".modified",
+                    String.valueOf(new File(directories.get(level.getKey())).lastModified()));
+            properties.setProperty(key + ".files", String.join(",", entry.files));
+        }
+
+        Path temp = Paths.get(manifest + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Sudoku game catalog");
+        }
+        try {
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING);
+        }
+        dirty = false;
+    }
+}
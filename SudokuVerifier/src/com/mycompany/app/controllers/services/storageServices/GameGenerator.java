@@ -1,8 +1,13 @@
 package com.mycompany.app.controllers.services.storageServices;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import com.mycompany.app.controllers.services.SudokuVerifier;
+import com.mycompany.app.controllers.services.solverServices.SudokuSolver;
+import com.mycompany.app.exceptions.InvalidGame;
 import com.mycompany.app.models.Game;
-import com.mycompany.app.utility.RandomPairs;
 
 /**
  * Service class for generating Sudoku games of different difficulty levels.
@@ -10,37 +15,66 @@ import com.mycompany.app.utility.RandomPairs;
  *Generation process:
  * 
  *   Start with a solved (valid) Sudoku board
- *   Randomly remove a specified number of cells
- *   Replace removed cells with 0 (empty)
+ *   Visit the cells in random order and empty each one
+ *   Put a cell back if emptying it gives the puzzle a second solution
+ *   Stop once the specified number of cells is removed
  * 
- *Uses @see RandomPairs utility to select cells to remove
+ *Every generated puzzle therefore has exactly one solution.
+ *Works for every board size the solver supports (4x4 up to 25x25); the
+ *number of removed cells scales with the board.
+ * 
+ *The random order is one shuffle of the cell indices (row * size + col).
  * 
  * @author Menna
  */
 public class GameGenerator {
-    private RandomPairs randomPairs;
+    private final Random random;
     
     public GameGenerator() {
-        this.randomPairs = new RandomPairs();
+        this.random = new Random();
     }
     
     
-    public Game generateGame(Game solvedGame, String difficulty) {
+    public Game generateGame(Game solvedGame, String difficulty) throws InvalidGame {
+        if (SudokuVerifier.verdict(solvedGame.board) != SudokuVerifier.State.VALID) {
+            throw new InvalidGame("Source board is not a valid solved board");
+        }
         int[][] board = deepCopyBoard(solvedGame.board);
-        int cellsToRemove = getCellsToRemove(difficulty);
+        int size = board.length;
+        int cellsToRemove = getCellsToRemove(difficulty, size * size);
+        int removed = 0;
         
+        // All cells in random order
+        List<Integer> cells = new ArrayList<>(size * size);
+        for (int cell = 0; cell < size * size; cell++) {
+            cells.add(cell);
+        }
+        Collections.shuffle(cells, random);
+        for (int cell : cells) {
+            if (removed == cellsToRemove) {
+                break;
+            }
+            int row = cell / size;
+            int col = cell % size;
+            int value = board[row][col];
+            board[row][col] = 0;
+            
+            if (SudokuSolver.hasUniqueSolution(board)) {
+                removed++;
+            } else {
+                board[row][col] = value; // Keep it, the answer would be ambiguous
+            }
+        }
         
-        List<int[]> positions = randomPairs.generateDistinctPairs(cellsToRemove);
-        for (int[] pos : positions) {
-            int row = pos[0];
-            int col = pos[1];
-            board[row][col] = 0; 
+        if (removed < cellsToRemove) {
+            throw new InvalidGame("Could only remove " + removed + " of " + cellsToRemove
+                    + " cells while keeping a unique solution");
         }
         return new Game(board);
     }
     
     
-    public Game[] generateAllLevels(Game solvedGame) {
+    public Game[] generateAllLevels(Game solvedGame) throws InvalidGame {
         Game[] games = new Game[3];
         games[0] = generateGame(solvedGame, "EASY");
         games[1] = generateGame(solvedGame, "MEDIUM");
@@ -48,18 +82,24 @@ public class GameGenerator {
         return games;
     }
     
-    private int getCellsToRemove(String difficulty) {
+    /**
+     * 10 / 20 / 25 cells on a 9x9 board, the same share of bigger boards.
+     */
+    private int getCellsToRemove(String difficulty, int cells) {
+        int onNineByNine;
         switch (difficulty.toUpperCase()) {
-            case "EASY": return 10;
-            case "MEDIUM": return 20;
-            case "HARD": return 25;
+            case "EASY": onNineByNine = 10; break;
+            case "MEDIUM": onNineByNine = 20; break;
+            case "HARD": onNineByNine = 25; break;
             default: throw new IllegalArgumentException("Invalid difficulty: " + difficulty);
         }
+        return onNineByNine * cells / 81;
     }
     private int[][] deepCopyBoard(int[][] original) {
-        int[][] copy = new int[9][9];
-        for (int i = 0; i < 9; i++) {
-            System.arraycopy(original[i], 0, copy[i], 0, 9);
+        int size = original.length;
+        int[][] copy = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(original[i], 0, copy[i], 0, size);
         }
         return copy;
     }
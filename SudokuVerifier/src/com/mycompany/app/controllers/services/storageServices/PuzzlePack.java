@@ -0,0 +1,258 @@
+package com.mycompany.app.controllers.services.storageServices;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.mycompany.app.models.BoardGeometry;
+
+/**
+ * One difficulty's puzzles in a single binary file of fixed-size records.
+ *
+ * File Format:
+ * header (16 bytes, big-endian)
+ *   magic "SDKP" (4) | version (2) | board size (1) | bits per cell (1) | record count (8)
+ * records, one per puzzle, cells in row-major order
+ *   4 bits per cell (high nibble first) up to 15x15, one byte per cell above
+ *   9x9: 81 cells -> 41 bytes per puzzle
+ *
+ * Record i starts at 16 + i * recordSize, so reading any puzzle is one
+ * offset computation on a memory-mapped view of the file: no directory
+ * listing, no text parsing. Appends go through the channel and update the
+ * count in the header; the mapping is refreshed on the next read.
+ * A mapping covers at most 2 GB, about 52 million 9x9 puzzles per file.
+ *
+ * Thread-safe: all methods are synchronized.
+ *
+ * @author Nour
+ */
+public class PuzzlePack implements Closeable {
+    private static final int MAGIC = 0x53444B50; // "SDKP"
+    private static final short VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int size;
+    private final int bitsPerCell;
+    private final int recordSize;
+    private long count;
+    private MappedByteBuffer map; // null until the next read after an append
+
+    private PuzzlePack(Path path, FileChannel channel, int size, long count) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+        this.bitsPerCell = (size <= 15) ? 4 : 8;
+        this.recordSize = (size * size * bitsPerCell + 7) / 8;
+        this.count = count;
+    }
+
+    /**
+     * Opens a pack, creating an empty one if the file does not exist.
+     * @param size Board size the pack holds (9 for the usual games)
+     * @throws IOException if the file is not a pack or holds another board size
+     */
+    public static PuzzlePack open(Path path, int size) throws IOException {
+        BoardGeometry.of(size); // rejects unsupported sizes
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                PuzzlePack pack = new PuzzlePack(path, channel, size, 0);
+                pack.writeHeader();
+                return pack;
+            }
+            return load(path, channel, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing pack for reading only (batch tools); the board size
+     * is the one in its header. Appending to it fails.
+     * @throws IOException if the file is missing, not a pack or truncated
+     */
+    public static PuzzlePack openReadOnly(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return load(path, channel, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param size Board size expected, 0 for the one in the header
+     */
+    private static PuzzlePack load(Path path, FileChannel channel, int size) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Not a puzzle pack: " + path);
+        }
+        short version = header.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported puzzle pack version " + version + ": " + path);
+        }
+        int fileSize = header.get();
+        header.get(); // bits per cell, implied by the size
+        long count = header.getLong();
+        if (size == 0) {
+            if (!BoardGeometry.isSupported(fileSize)) {
+                throw new IOException("Invalid board size " + fileSize + ": " + path);
+            }
+            size = fileSize;
+        }
+        if (fileSize != size) {
+            throw new IOException("Puzzle pack holds " + fileSize + "x" + fileSize + " boards, expected "
+                    + size + "x" + size + ": " + path);
+        }
+
+        PuzzlePack pack = new PuzzlePack(path, channel, size, count);
+        long expected = HEADER_SIZE + count * pack.recordSize;
+        if (channel.size() < expected) {
+            throw new IOException("Puzzle pack is truncated, expected " + count + " puzzles: " + path);
+        }
+        return pack;
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    public int getBoardSize() {
+        return size;
+    }
+
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * @param index 0..count-1
+     * @return A new board holding puzzle index
+     */
+    public synchronized int[][] read(long index) throws IOException {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Puzzle " + index + " of " + count);
+        }
+        if (map == null) {
+            long length = HEADER_SIZE + count * recordSize;
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Puzzle pack too large to map: " + path);
+            }
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+
+        int offset = (int) (HEADER_SIZE + index * recordSize);
+        int[][] board = new int[size][size];
+        if (bitsPerCell == 4) {
+            for (int cell = 0; cell < size * size; cell++) {
+                int b = map.get(offset + (cell >>> 1));
+                int value = ((cell & 1) == 0) ? (b >>> 4) & 0xF : b & 0xF;
+                board[cell / size][cell % size] = value;
+            }
+        } else {
+            for (int cell = 0; cell < size * size; cell++) {
+                board[cell / size][cell % size] = map.get(offset + cell) & 0xFF;
+            }
+        }
+        return board;
+    }
+
+    /**
+     * O(1): one offset read, whatever the number of puzzles.
+     */
+    public synchronized int[][] readRandom(Random random) throws IOException {
+        if (count == 0) {
+            throw new IOException("Puzzle pack is empty: " + path);
+        }
+        return read(random.nextLong(count));
+    }
+
+    /**
+     * Appends one puzzle.
+     * @return Its index
+     */
+    public synchronized long append(int[][] board) throws IOException {
+        appendAll(Collections.singletonList(board));
+        return count - 1;
+    }
+
+    /**
+     * Appends puzzles with a single header update.
+     */
+    public synchronized void appendAll(List<int[][]> boards) throws IOException {
+        if (boards.isEmpty()) {
+            return;
+        }
+        ByteBuffer records = ByteBuffer.allocate(boards.size() * recordSize);
+        for (int[][] board : boards) {
+            encode(board, records);
+        }
+        records.flip();
+
+        long position = HEADER_SIZE + count * recordSize;
+        while (records.hasRemaining()) {
+            position += channel.write(records, position);
+        }
+        count += boards.size();
+        writeHeader();
+        channel.force(false);
+        map = null;
+    }
+
+    private void encode(int[][] board, ByteBuffer out) {
+        if (board.length != size) {
+            throw new IllegalArgumentException("Board is " + board.length + "x" + board.length
+                    + ", pack holds " + size + "x" + size);
+        }
+        int start = out.position();
+        for (int cell = 0; cell < size * size; cell++) {
+            int value = board[cell / size][cell % size];
+            if (value < 0 || value > size) {
+                throw new IllegalArgumentException("Invalid value at [" + (cell / size + 1) + "]["
+                        + (cell % size + 1) + "] = " + value);
+            }
+            if (bitsPerCell == 4) {
+                int at = start + (cell >>> 1);
+                int b = ((cell & 1) == 0) ? value << 4 : out.get(at) | value;
+                out.put(at, (byte) b);
+            } else {
+                out.put(start + cell, (byte) value);
+            }
+        }
+        out.position(start + recordSize);
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.put((byte) size);
+        header.put((byte) bitsPerCell);
+        header.putLong(count);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        map = null;
+        channel.close();
+    }
+}
@@ -2,12 +2,17 @@ package com.mycompany.app.controllers.services.storageServices;
 
 import com.mycompany.app.models.DifficultyEnum;
 import com.mycompany.app.models.Game;
+import com.mycompany.app.models.UserAction;
 import com.mycompany.app.exceptions.NotFoundException;
+import com.mycompany.app.utility.CSVReader;
 
 import java.io.*;
 import java.nio.file.*;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -16,16 +21,50 @@ import java.util.Random;
  * Folder Structure:
  * storage/
  *  easy/           (contains generated easy games)
+ *      puzzles.pack    (all 9x9 games, @see PuzzlePack)
+ *      game_N.csv      (games of other sizes, and games saved before packs)
  *  medium/         (contains generated medium games)
  *  hard/           (contains generated hard games)
  *  incomplete/     (contains current game + log file)
- *      current_game.csv
- *      gameLog.txt
+ *      checkpoint.bin  (@see Checkpoint: board, givens, log sequence number)
+ *      gameLog.bin     (@see ActionLog)
+ *  catalog.properties  (@see GameCatalog manifest)
+ *  dedup_N.index       (@see DedupIndex, canonical forms of the NxN games)
  * 
  * File Format for log:
- * (2, 3, 5, 0)
- * (4, 7, 8, 0)
- * (One action per line)
+ * 4 bytes per action: x, y, value, previousValue
+ * (The log is opened once and kept open; undo truncates the last record.
+ * A gameLog.txt left by an older version, one "(2, 3, 5, 0)" per line,
+ * is converted when the log is first opened.)
+ * 
+ * The first time a pack is opened, the 9x9 game_N.csv files already in
+ * that directory are imported into it and renamed game_N.csv.imported, so
+ * the catalog and the batch tools no longer see them twice.
+ * Picking a random game is then one read from the mapped pack.
+ * The CSV files are tracked by @see GameCatalog, so saving, picking and
+ * counting never list the directories; the catalog manifest is written and
+ * the packs closed when the JVM exits (flush()).
+ * 
+ * saveGame() skips a puzzle equivalent to one already stored, at any
+ * difficulty: the same up to relabelling the digits, reordering bands,
+ * stacks, rows within a band and columns within a stack, and transposing
+ * (16x16 and 25x25: relabelling only). The check is one lookup in the board size's dedup index, which is
+ * filled from the stored games the first time it is created.
+ * 
+ * Every edit is appended to the log at once; the board itself reaches
+ * checkpoint.bin through @see AutosaveService, in the background at most
+ * once per interval, via a temp file moved over the old one. Resuming loads
+ * the checkpoint and replays only the actions logged after it, so it costs
+ * the same after ten edits or after ten thousand. Once a checkpoint is
+ * written, the log keeps only the last UNDO_HISTORY actions before it (the
+ * undo history) and drops the rest, on the autosave thread.
+ * Undo only truncates the log and queues a checkpoint like an edit does, so
+ * the checkpoint on disk may still include actions undone since. It keeps
+ * the actions it includes, and resuming compares them with the log by
+ * sequence number: from the first one the log no longer has, it reverts
+ * the checkpoint's actions, newest first, and replays the log's.
+ * Pending edits are written on exit and dropped when the current game is
+ * deleted. A current_game.csv left by an older version is still resumed.
  * 
  * @author nour
  */
@@ -39,13 +78,53 @@ public class StorageManager {
     public static final String INCOMPLETE_DIR = BASE_STORAGE_DIR + File.separator + "incomplete";
     
     public static final String CURRENT_GAME_FILE = INCOMPLETE_DIR + File.separator + "current_game.csv";
-    public static final String GAME_LOG_FILE = INCOMPLETE_DIR + File.separator + "gameLog.txt";
+    public static final String CHECKPOINT_FILE = INCOMPLETE_DIR + File.separator + "checkpoint.bin";
+    public static final int UNDO_HISTORY = 1000;
+    public static final String GAME_LOG_FILE = INCOMPLETE_DIR + File.separator + "gameLog.bin";
+    public static final String LEGACY_GAME_LOG_FILE = INCOMPLETE_DIR + File.separator + "gameLog.txt";
+    public static final String CATALOG_FILE = BASE_STORAGE_DIR + File.separator + "catalog.properties";
+    public static final String PACK_FILE = "puzzles.pack";
+    public static final String IMPORTED_SUFFIX = ".imported";
+    public static final int PACK_BOARD_SIZE = 9;
+    public static final String DEDUP_INDEX_FILE = "dedup_%d.index";
     
     private final Random random;
+    private final Map<DifficultyEnum, PuzzlePack> packs;
+    private final GameCatalog catalog;
+    private final Map<Integer, DedupIndex> dedupIndexes; // by board size, opened on first use
+    private ActionLog actionLog; // opened on first use, closed before the folder is cleared
+    private final AutosaveService autosave;
+    private volatile int[][] currentBoard;      // board of the game in progress (by reference)
+    private volatile boolean[][] currentGivens;
+    private volatile long checkpointLsn;         // LSN of the last checkpoint written
+    private volatile boolean compactionQueued;
     
     public StorageManager() {
+        this(AutosaveService.DEFAULT_INTERVAL_MILLIS);
+    }
+    
+    /**
+     * @param autosaveMillis Longest time an edit waits before the board is checkpointed
+     */
+    public StorageManager(long autosaveMillis) {
         this.random = new Random();
+        this.packs = new EnumMap<>(DifficultyEnum.class);
+        this.dedupIndexes = new HashMap<>();
         initializeDirectories();
+        
+        Map<DifficultyEnum, String> directories = new EnumMap<>(DifficultyEnum.class);
+        for (DifficultyEnum difficulty : DifficultyEnum.values()) {
+            directories.put(difficulty, getDirectoryForDifficulty(difficulty));
+        }
+        this.catalog = new GameCatalog(Paths.get(CATALOG_FILE), directories);
+        this.autosave = new AutosaveService(this::writeCheckpoint, autosaveMillis);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                flush();
+            } catch (IOException e) {
+                System.err.println("Error saving storage state: " + e.getMessage());
+            }
+        }));
     }
     
     private void initializeDirectories() {
@@ -60,107 +139,420 @@ public class StorageManager {
     }
     
     public boolean hasUnfinishedGame() {
-        return new File(CURRENT_GAME_FILE).exists();
+        return new File(CHECKPOINT_FILE).exists() || new File(CURRENT_GAME_FILE).exists();
     }
     
     public boolean hasGameForEachDifficulty() {
-        return hasGamesInDirectory(EASY_DIR) && 
-               hasGamesInDirectory(MEDIUM_DIR) && 
-               hasGamesInDirectory(HARD_DIR);
+        return hasGames(DifficultyEnum.EASY) && 
+               hasGames(DifficultyEnum.MEDIUM) && 
+               hasGames(DifficultyEnum.HARD);
     }
     
     public Game loadGame(DifficultyEnum level) throws NotFoundException, IOException {
         return getRandomGame(level);
     }
     
-    public void saveGame(Game game, DifficultyEnum difficulty) throws IOException {
-        String directory = getDirectoryForDifficulty(difficulty);
-        String filename = generateUniqueFilename(directory);
-        String filepath = directory + File.separator + filename;
-        writeGameToFile(game, filepath);
+    /**
+     * Stores the game unless an equivalent one is already stored.
+     * @return false if it was a duplicate (nothing written)
+     */
+    public synchronized boolean saveGame(Game game, DifficultyEnum difficulty) throws IOException {
+        DedupIndex index = getDedupIndex(game.board.length);
+        byte[] key = index.key(game.board);
+        if (index.contains(key)) {
+            return false;
+        }
+        
+        if (game.board.length == PACK_BOARD_SIZE) {
+            getPack(difficulty).append(game.board);
+        } else {
+            String directory = getDirectoryForDifficulty(difficulty);
+            String filename = catalog.nextFilename(difficulty);
+            String filepath = directory + File.separator + filename;
+            writeGameToFile(game, filepath);
+            catalog.add(difficulty, filename);
+        }
+        index.add(key);
+        return true;
+    }
+    
+    /**
+     * Number of games available for a difficulty: the pack plus the CSV
+     * files not imported into it (other board sizes).
+     */
+    public int getGameCount(DifficultyEnum difficulty) {
+        int count = 0;
+        try {
+            count = (int) getPack(difficulty).count(); // first: opening a new pack imports CSV games
+        } catch (IOException e) {
+            System.err.println("Error opening puzzle pack: " + e.getMessage());
+        }
+        return count + catalog.count(difficulty);
+    }
+    
+    /**
+     * Writes the pending autosave and the catalog manifest, and closes the
+     * packs, the dedup indexes and the action log.
+     */
+    public void flush() throws IOException {
+        autosave.flush(); // outside the lock: a background write may need it
+        synchronized (this) {
+            catalog.flush();
+            closeActionLog();
+            for (PuzzlePack pack : packs.values()) {
+                pack.close();
+            }
+            packs.clear();
+            for (DedupIndex index : dedupIndexes.values()) {
+                index.close();
+            }
+            dedupIndexes.clear();
+        }
     }
     
     private Game getRandomGame(DifficultyEnum difficulty) throws NotFoundException, IOException {
-        String directory = getDirectoryForDifficulty(difficulty);
-        File[] files = getGameFiles(directory);
-        
-        if (files.length == 0) {
-            throw new NotFoundException("No games found for difficulty: " + difficulty);
+        PuzzlePack pack = getPack(difficulty);
+        if (pack.count() > 0) {
+            return new Game(pack.readRandom(random));
         }
         
-        File selectedFile = files[random.nextInt(files.length)];
-        return readGameFromFile(selectedFile.getAbsolutePath());
+        String directory = getDirectoryForDifficulty(difficulty);
+        String filename;
+        while ((filename = catalog.pick(difficulty, random)) != null) {
+            File selectedFile = new File(directory, filename);
+            if (selectedFile.exists()) {
+                return readGameFromFile(selectedFile.getAbsolutePath());
+            }
+            catalog.remove(difficulty, filename); // deleted outside the game
+        }
+        throw new NotFoundException("No games found for difficulty: " + difficulty);
     }
     
+    /**
+     * Starts a new current game and checkpoints it now; its filled cells
+     * are the givens.
+     */
     public void saveCurrentGame(Game game) throws IOException {
-        writeGameToFile(game, CURRENT_GAME_FILE);
+        currentBoard = game.board;
+        currentGivens = Checkpoint.givensOf(game.board);
+        autosave.save(snapshot(copyOf(game.board), getActionLog()));
+        autosave.flush();
+    }
+    
+    /**
+     * Queues a checkpoint of the current game, with one cell set, at the end
+     * of the log (the board resuming would rebuild), and returns at once.
+     * @throws IOException if an earlier checkpoint failed to write (this one
+     *         is still queued, and retried)
+     */
+    private void queueCheckpoint(ActionLog log, int row, int col, int value) throws IOException {
+        int[][] board = currentBoard;
+        if (board == null) {
+            return; // no game in progress
+        }
+        int[][] copy = copyOf(board);
+        copy[row][col] = value;
+        autosave.save(snapshot(copy, log));
+        IOException error = autosave.takeError();
+        if (error != null) {
+            throw new IOException("Autosave failed: " + error.getMessage(), error);
+        }
+    }
+    
+    /**
+     * @param board Kept by reference
+     * @return A checkpoint of board at the end of the log, with the actions still in the log
+     */
+    private Checkpoint snapshot(int[][] board, ActionLog log) {
+        boolean[][] givens = currentGivens;
+        if (givens == null || givens.length != board.length) {
+            givens = Checkpoint.givensOf(board);
+        }
+        synchronized (log) { // a compaction may move the base meanwhile
+            return new Checkpoint(board, givens, log.end(), log.packedFrom(log.getBase()));
+        }
+    }
+    
+    private static int[][] copyOf(int[][] board) {
+        int[][] copy = new int[board.length][];
+        for (int row = 0; row < board.length; row++) {
+            copy[row] = board[row].clone();
+        }
+        return copy;
+    }
+    
+    /**
+     * Resumes the game in progress: the last checkpoint plus the actions
+     * logged after it.
+     */
+    public Game loadCurrentGame() throws IOException {
+        if (!new File(CHECKPOINT_FILE).exists()) {
+            Game game = readGameFromFile(CURRENT_GAME_FILE);
+            currentBoard = game.board;
+            currentGivens = Checkpoint.givensOf(game.board);
+            return game;
+        }
+        
+        Checkpoint checkpoint = Checkpoint.read(Paths.get(CHECKPOINT_FILE));
+        int[][] board = checkpoint.getBoard();
+        long lsn = checkpoint.getLsn();
+        int[] included = checkpoint.getRecords();
+        long includedStart = lsn - included.length;
+        ActionLog log = getActionLog();
+        int[] logged = log.packedFrom(includedStart);
+        long loggedStart = log.end() - logged.length;
+        
+        // First action the checkpoint includes that the log no longer has (it was undone)
+        long diverged = Math.max(includedStart, loggedStart);
+        while (diverged < lsn && diverged < log.end()
+                && included[(int) (diverged - includedStart)] == logged[(int) (diverged - loggedStart)]) {
+            diverged++;
+        }
+        for (long sequence = lsn - 1; sequence >= diverged; sequence--) {
+            UserAction undone = ActionLog.unpack(included[(int) (sequence - includedStart)]);
+            board[undone.getX()][undone.getY()] = undone.getPreviousValue();
+        }
+        for (long sequence = diverged; sequence < log.end(); sequence++) {
+            UserAction action = ActionLog.unpack(logged[(int) (sequence - loggedStart)]);
+            board[action.getX()][action.getY()] = action.getValue();
+        }
+        currentBoard = board;
+        currentGivens = checkpoint.getGivens();
+        return new Game(board);
+    }
+    
+    /**
+     * @return true if the cell was filled when the current game started
+     */
+    public boolean isGivenCell(int row, int col) {
+        boolean[][] givens = currentGivens;
+        return givens != null && givens[row][col];
     }
     
     public void deleteCurrentGameWithLog() throws IOException {
+        autosave.discard();
+        checkpointLsn = 0; // a compaction still queued finds nothing to drop
+        currentBoard = null;
+        currentGivens = null;
         clearIncompleteFolder();
     }
     
+    /**
+     * Autosave target: writes the checkpoint, then, once the log holds more
+     * than twice the undo history before it, queues a compaction on the
+     * autosave thread (a new game writes its checkpoint on the caller's
+     * thread, which must not wait for the log to be rewritten).
+     */
+    private void writeCheckpoint(Checkpoint checkpoint) throws IOException {
+        checkpoint.write(Paths.get(CHECKPOINT_FILE));
+        long lsn = checkpoint.getLsn();
+        checkpointLsn = lsn;
+        
+        if (lsn - getActionLog().getBase() > 2L * UNDO_HISTORY && !compactionQueued) {
+            compactionQueued = autosave.runInBackground(this::compactActionLog);
+        }
+    }
+    
+    /**
+     * Drops the actions more than UNDO_HISTORY before the last checkpoint.
+     * Runs on the autosave thread between writes, so the checkpoint cannot
+     * change under it.
+     */
+    private void compactActionLog() {
+        compactionQueued = false;
+        try {
+            ActionLog log = getActionLog();
+            long lsn = checkpointLsn;
+            if (lsn - log.getBase() > 2L * UNDO_HISTORY) {
+                log.compact(lsn - UNDO_HISTORY);
+            }
+        } catch (IOException e) {
+            System.err.println("Error compacting the action log: " + e.getMessage());
+        }
+    }
+    
+    public AutosaveService getAutosave() {
+        return autosave;
+    }
+    
     public void logUserAction(String userAction) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(GAME_LOG_FILE, true))) {
-            writer.write(userAction);
-            writer.newLine();
+        logUserAction(UserAction.fromLogEntry(userAction));
+    }
+    
+    /**
+     * Appends the action to the log and queues a checkpoint of the board
+     * with it.
+     */
+    public void logUserAction(UserAction userAction) throws IOException {
+        ActionLog log = getActionLog();
+        log.append(userAction);
+        queueCheckpoint(log, userAction.getX(), userAction.getY(), userAction.getValue());
+    }
+    
+    /**
+     * Removes the last logged action in constant time and queues a
+     * checkpoint of the board without it.
+     * @return The removed action, or null if nothing is left to undo
+     */
+    public UserAction removeLastUserAction() throws IOException {
+        ActionLog log = getActionLog();
+        UserAction last = log.removeLast();
+        if (last != null) {
+            queueCheckpoint(log, last.getX(), last.getY(), last.getPreviousValue());
         }
+        return last;
     }
     
     public List<String> readGameLog() throws IOException {
         List<String> actions = new ArrayList<>();
-        File logFile = new File(GAME_LOG_FILE);
-        if (!logFile.exists()) return actions;
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                actions.add(line.trim());
-            }
+        for (UserAction action : getActionLog().readAll()) {
+            actions.add(action.toLogEntry());
         }
         return actions;
     }
     
     public void clearGameLog() throws IOException {
-        File logFile = new File(GAME_LOG_FILE);
-        if (logFile.exists()) {
-            Files.delete(logFile.toPath());
+        getActionLog().clear();
+    }
+    
+    private synchronized ActionLog getActionLog() throws IOException {
+        if (actionLog != null) {
+            return actionLog;
         }
+        actionLog = new ActionLog(Paths.get(GAME_LOG_FILE));
+        
+        File legacyLog = new File(LEGACY_GAME_LOG_FILE);
+        if (legacyLog.exists()) {
+            try (BufferedReader reader = new BufferedReader(new FileReader(legacyLog))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        actionLog.append(UserAction.fromLogEntry(line.trim()));
+                    }
+                }
+            }
+            Files.delete(legacyLog.toPath());
+        }
+        return actionLog;
     }
     
-    private String getDirectoryForDifficulty(DifficultyEnum difficulty) {
-        switch (difficulty) {
-            case EASY: return EASY_DIR;
-            case MEDIUM: return MEDIUM_DIR;
-            case HARD: return HARD_DIR;
-            default: throw new IllegalArgumentException("Unknown difficulty: " + difficulty);
+    private synchronized void closeActionLog() throws IOException {
+        if (actionLog != null) {
+            actionLog.close();
+            actionLog = null;
         }
     }
     
-    private String generateUniqueFilename(String directory) {
-        File[] files = getGameFiles(directory);
-        int maxNumber = 0;
+    /**
+     * Opens the difficulty's pack on first use and keeps it open; a new
+     * pack is filled with the 9x9 CSV games already in the directory.
+     */
+    private synchronized PuzzlePack getPack(DifficultyEnum difficulty) throws IOException {
+        PuzzlePack pack = packs.get(difficulty);
+        if (pack != null) {
+            return pack;
+        }
         
-        for (File file : files) {
-            String name = file.getName();
+        String directory = getDirectoryForDifficulty(difficulty);
+        Path path = Paths.get(directory, PACK_FILE);
+        boolean created = !Files.exists(path);
+        pack = PuzzlePack.open(path, PACK_BOARD_SIZE);
+        if (created) {
+            List<int[][]> legacy = new ArrayList<>();
+            List<String> imported = new ArrayList<>();
+            for (String filename : catalog.files(difficulty)) {
+                File file = new File(directory, filename);
+                try {
+                    int[][] board = readGameFromFile(file.getAbsolutePath()).board;
+                    if (board.length == PACK_BOARD_SIZE) {
+                        legacy.add(board);
+                        imported.add(filename);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Skipping " + file.getName() + ": " + e.getMessage());
+                }
+            }
+            pack.appendAll(legacy);
+            // Only once the pack is on disk: the games now live there
+            for (String filename : imported) {
+                Files.move(Paths.get(directory, filename), Paths.get(directory, filename + IMPORTED_SUFFIX),
+                        StandardCopyOption.REPLACE_EXISTING);
+                catalog.remove(difficulty, filename);
+            }
+        }
+        packs.put(difficulty, pack);
+        return pack;
+    }
+    
+    /**
+     * Opens the dedup index for a board size on first use and keeps it
+     * open; a new index is filled with the games already stored.
+     */
+    private synchronized DedupIndex getDedupIndex(int size) throws IOException {
+        DedupIndex index = dedupIndexes.get(size);
+        if (index != null) {
+            return index;
+        }
+        
+        Path path = Paths.get(BASE_STORAGE_DIR, String.format(DEDUP_INDEX_FILE, size));
+        boolean created = !Files.exists(path);
+        index = DedupIndex.open(path, size);
+        if (created) {
             try {
-                String numberStr = name.substring(5, name.length() - 4);
-                int number = Integer.parseInt(numberStr);
-                maxNumber = Math.max(maxNumber, number);
-            } catch (Exception e) {
-                // Skip invalid filenames
+                fillDedupIndex(index);
+            } catch (IOException | RuntimeException e) {
+                index.close();
+                Files.deleteIfExists(path); // filled again next time
+                throw e;
+            }
+        }
+        dedupIndexes.put(size, index);
+        return index;
+    }
+    
+    private void fillDedupIndex(DedupIndex index) throws IOException {
+        int size = index.getBoardSize();
+        for (DifficultyEnum difficulty : DifficultyEnum.values()) {
+            if (size == PACK_BOARD_SIZE) {
+                // The pack already holds this directory's 9x9 CSV games
+                PuzzlePack pack = getPack(difficulty);
+                for (long i = 0; i < pack.count(); i++) {
+                    index.add(index.key(pack.read(i)));
+                }
+                continue;
+            }
+            String directory = getDirectoryForDifficulty(difficulty);
+            for (String filename : catalog.files(difficulty)) {
+                File file = new File(directory, filename);
+                try {
+                    int[][] board = readGameFromFile(file.getAbsolutePath()).board;
+                    if (board.length == size) {
+                        index.add(index.key(board));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Skipping " + file.getName() + ": " + e.getMessage());
+                }
             }
         }
-        return "game_" + (maxNumber + 1) + ".csv";
+    }
+    
+    private String getDirectoryForDifficulty(DifficultyEnum difficulty) {
+        switch (difficulty) {
+            case EASY: return EASY_DIR;
+            case MEDIUM: return MEDIUM_DIR;
+            case HARD: return HARD_DIR;
+            default: throw new IllegalArgumentException("Unknown difficulty: " + difficulty);
+        }
     }
     
     private void writeGameToFile(Game game, String filepath) throws IOException {
+        int size = game.board.length;
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(filepath))) {
-            for (int row = 0; row < 9; row++) {
+            for (int row = 0; row < size; row++) {
                 StringBuilder line = new StringBuilder();
-                for (int col = 0; col < 9; col++) {
+                for (int col = 0; col < size; col++) {
                     line.append(game.board[row][col]);
-                    if (col < 8) line.append(",");
+                    if (col < size - 1) line.append(",");
                 }
                 writer.write(line.toString());
                 writer.newLine();
@@ -168,41 +560,25 @@ public class StorageManager {
         }
     }
     
+    /**
+     * Reads a board of any supported size; the size is the number of values
+     * in the first row (9 for the usual files). Same parser and validation
+     * as @see CSVReader#readCSV(String, boolean), empty cells allowed.
+     */
     public Game readGameFromFile(String filepath) throws IOException {
-        int[][] board = new int[9][9];
-        try (BufferedReader reader = new BufferedReader(new FileReader(filepath))) {
-            String line;
-            int row = 0;
-            
-            while ((line = reader.readLine()) != null && row < 9) {
-                String[] values = line.split(",");
-                if (values.length != 9) {
-                    throw new IOException("Invalid row: " + (row + 1));
-                }
-                for (int col = 0; col < 9; col++) {
-                    board[row][col] = Integer.parseInt(values[col].trim());
-                }
-                row++;
-            }
-            
-            if (row < 9) {
-                throw new IOException("Only " + row + " rows found");
-            }
+        try {
+            return new Game(CSVReader.readCSV(filepath, true));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number in " + filepath + ": " + e.getMessage());
         }
-        return new Game(board);
-    }
-    
-    private File[] getGameFiles(String directory) {
-        File dir = new File(directory);
-        File[] files = dir.listFiles((d, name) -> name.startsWith("game_") && name.endsWith(".csv"));
-        return (files != null) ? files : new File[0];
     }
     
-    private boolean hasGamesInDirectory(String directory) {
-        return getGameFiles(directory).length > 0;
+    private boolean hasGames(DifficultyEnum difficulty) {
+        return getGameCount(difficulty) > 0;
     }
     
     private void clearIncompleteFolder() throws IOException {
+        closeActionLog();
         File incompleteDir = new File(INCOMPLETE_DIR);
         File[] files = incompleteDir.listFiles();
         if (files != null) {
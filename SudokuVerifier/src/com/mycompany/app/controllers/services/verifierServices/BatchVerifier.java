@@ -0,0 +1,363 @@
+package com.mycompany.app.controllers.services.verifierServices;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import com.mycompany.app.controllers.services.SudokuVerifier.State;
+import com.mycompany.app.controllers.services.storageServices.PuzzlePack;
+import com.mycompany.app.controllers.services.storageServices.StorageManager;
+import com.mycompany.app.utility.CSVReader;
+
+/**
+ * Verifies a whole puzzle bank from the command line.
+ *
+ * Input is a directory (searched recursively for StorageManager's game_N.csv
+ * and puzzles.pack files, @see PuzzlePack), one multi-board file (see
+ * @see CSVReader#readBoards) or "-" for stdin in the same formats. Boards
+ * from a multi-board file or a pack are named source#N, N from 1. Input is
+ * streamed: boards are read, verified and written in chunks, so memory
+ * stays flat however large the bank is.
+ *
+ * Chunks are verified on a fixed pool of platform threads (the work is pure
+ * CPU), each with its own @see BitmaskVerifier. The pool's queue is bounded
+ * and the reader runs a chunk itself when it is full, so reading never gets
+ * far ahead of verifying. A single writer thread streams the results, one
+ * line per board (chunk order is not kept):
+ * source    VALID|
+ * source    INCOMPLETE|
+ * source    INVALID|row,col|row,col|...   (cells in a duplicate, 0-based)
+ * source    ERROR    reason               (file could not be read)
+ *
+ * Usage:
+ * java ...Main verify input|- [output|-] [--threads N]
+ * The summary (counts and boards/sec) goes to stderr.
+ *
+ * @author Hazem
+ */
+public class BatchVerifier {
+    private static final int CHUNK_BOARDS = 512;
+    private static final int CHUNK_FILES = 64;
+    private static final String POISON = "";
+
+    /**
+     * Summary of a verification run.
+     */
+    public static class Report {
+        public final long boards;
+        public final long valid;
+        public final long invalid;
+        public final long incomplete;
+        public final long errors;
+        public final long elapsedNanos;
+
+        Report(long valid, long invalid, long incomplete, long errors, long elapsedNanos) {
+            this.boards = valid + invalid + incomplete + errors;
+            this.valid = valid;
+            this.invalid = invalid;
+            this.incomplete = incomplete;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public double boardsPerSecond() {
+            return (elapsedNanos == 0) ? 0 : boards * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d boards: %d valid, %d invalid, %d incomplete, %d errors in %.1f ms (%.0f boards/sec)",
+                    boards, valid, invalid, incomplete, errors, elapsedNanos / 1e6, boardsPerSecond());
+        }
+    }
+
+    private final ExecutorService pool;
+    private final BlockingQueue<String> lines;
+    private final AtomicLong valid = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong incomplete = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile IOException writeError; // first output failure, set by the writer
+
+    private BatchVerifier(int threads) {
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.lines = new ArrayBlockingQueue<>(threads * 4);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: verify <input dir|file|-> [output file|-] [--threads N]");
+            System.exit(2);
+        }
+
+        String output = "-";
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (i == 1) {
+                output = args[i];
+            } else {
+                System.err.println("Unknown option: " + args[i]);
+                System.exit(2);
+            }
+        }
+
+        try {
+            Report report = verifyAll(args[0], output, threads);
+            System.err.println(report);
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Verification failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Verifies every board found in input and writes one line per board to output.
+     * @throws IOException if the input or the output fails (e.g. disk full)
+     * @param input Directory, multi-board file, or "-" for stdin
+     * @param output File, or "-" for stdout
+     * @param threads Verifier threads
+     */
+    public static Report verifyAll(String input, String output, int threads)
+            throws IOException, InterruptedException {
+        BatchVerifier batch = new BatchVerifier(threads);
+        long start = System.nanoTime();
+        Thread writer = batch.startWriter(output);
+
+        try {
+            if (input.equals("-")) {
+                batch.readStream(Channels.newChannel(System.in), "stdin");
+            } else if (Files.isDirectory(Paths.get(input))) {
+                batch.readDirectory(Paths.get(input));
+            } else {
+                try (FileChannel channel = FileChannel.open(Paths.get(input), StandardOpenOption.READ)) {
+                    batch.readStream(channel, Paths.get(input).getFileName().toString());
+                }
+            }
+        } finally {
+            batch.pool.shutdown();
+            batch.pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            batch.lines.put(POISON);
+            writer.join();
+        }
+        if (batch.writeError != null) {
+            throw batch.writeError;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        return new Report(batch.valid.get(), batch.invalid.get(), batch.incomplete.get(),
+                batch.errors.get(), elapsed);
+    }
+
+    /**
+     * Multi-board input: parsed on the calling thread, verified in chunks.
+     */
+    private void readStream(ReadableByteChannel channel, String name) throws IOException {
+        List<int[][]> chunk = new ArrayList<>(CHUNK_BOARDS);
+        long[] first = { 1 }; // board number of chunk.get(0)
+
+        try {
+            CSVReader.readBoards(channel, board -> {
+                chunk.add(board);
+                if (chunk.size() == CHUNK_BOARDS) {
+                    submitBoards(name, first[0], new ArrayList<>(chunk));
+                    first[0] += chunk.size();
+                    chunk.clear();
+                }
+            });
+        } catch (IOException | NumberFormatException e) {
+            // Boards read so far are still verified; the rest of the input is unusable
+            errors.incrementAndGet();
+            emit(name + "\tERROR\t" + e.getMessage().trim() + "\n");
+        }
+        submitBoards(name, first[0], chunk);
+    }
+
+    private void submitBoards(String name, long first, List<int[][]> boards) {
+        if (boards.isEmpty()) {
+            return;
+        }
+        pool.execute(() -> {
+            BitmaskVerifier verifier = new BitmaskVerifier();
+            Tally tally = new Tally();
+            StringBuilder out = new StringBuilder(boards.size() * 32);
+            for (int i = 0; i < boards.size(); i++) {
+                out.append(name).append('#').append(first + i).append('\t');
+                verify(verifier, boards.get(i), tally, out);
+            }
+            tally.flush();
+            emit(out.toString());
+        });
+    }
+
+    /**
+     * Directory input: files are listed lazily and read on the pool threads;
+     * packs are read on the calling thread and verified in chunks.
+     */
+    private void readDirectory(Path root) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            Iterator<Path> files = walk.filter(p -> {
+                String name = p.getFileName().toString();
+                return (name.equals(StorageManager.PACK_FILE) || name.startsWith("game_") && name.endsWith(".csv"))
+                        && Files.isRegularFile(p);
+            }).iterator();
+
+            List<Path> chunk = new ArrayList<>(CHUNK_FILES);
+            while (files.hasNext()) {
+                Path file = files.next();
+                if (file.getFileName().toString().equals(StorageManager.PACK_FILE)) {
+                    readPack(root, file);
+                    continue;
+                }
+                chunk.add(file);
+                if (chunk.size() == CHUNK_FILES) {
+                    submitFiles(root, chunk);
+                    chunk = new ArrayList<>(CHUNK_FILES);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submitFiles(root, chunk);
+            }
+        }
+    }
+
+    private void readPack(Path root, Path file) {
+        String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+        try (PuzzlePack pack = PuzzlePack.openReadOnly(file)) {
+            long count = pack.count();
+            for (long first = 0; first < count; first += CHUNK_BOARDS) {
+                List<int[][]> chunk = new ArrayList<>(CHUNK_BOARDS);
+                for (long i = first; i < Math.min(first + CHUNK_BOARDS, count); i++) {
+                    chunk.add(pack.read(i));
+                }
+                submitBoards(name, first + 1, chunk);
+            }
+        } catch (IOException e) {
+            errors.incrementAndGet();
+            emit(name + "\tERROR\t" + e.getMessage().trim() + "\n");
+        }
+    }
+
+    private void submitFiles(Path root, List<Path> files) {
+        pool.execute(() -> {
+            BitmaskVerifier verifier = new BitmaskVerifier();
+            Tally tally = new Tally();
+            StringBuilder out = new StringBuilder(files.size() * 48);
+            for (Path file : files) {
+                String source = root.relativize(file).toString().replace(File.separatorChar, '/');
+                out.append(source).append('\t');
+                try {
+                    verify(verifier, CSVReader.readCSV(file.toString(), true), tally, out);
+                } catch (IOException | NumberFormatException e) {
+                    tally.errors++;
+                    out.append("ERROR\t").append(e.getMessage().trim()).append('\n');
+                }
+            }
+            tally.flush();
+            emit(out.toString());
+        });
+    }
+
+    private static void verify(BitmaskVerifier verifier, int[][] board, Tally tally, StringBuilder out) {
+        State state = verifier.verify(board);
+        switch (state) {
+            case VALID:
+                tally.valid++;
+                break;
+            case INCOMPLETE:
+                tally.incomplete++;
+                break;
+            default:
+                tally.invalid++;
+                break;
+        }
+        if (verifier.hasDuplicates()) {
+            out.append(verifier.toResult().toString());
+        } else {
+            out.append(state.toString()).append('|');
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Per-chunk counts, added to the shared totals once per chunk.
+     */
+    private class Tally {
+        long valid;
+        long invalid;
+        long incomplete;
+        long errors;
+
+        void flush() {
+            BatchVerifier.this.valid.addAndGet(valid);
+            BatchVerifier.this.invalid.addAndGet(invalid);
+            BatchVerifier.this.incomplete.addAndGet(incomplete);
+            BatchVerifier.this.errors.addAndGet(errors);
+        }
+    }
+
+    private void emit(String text) {
+        try {
+            lines.put(text);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Thread startWriter(String output) throws IOException {
+        boolean toStdout = output.equals("-");
+        Writer out = toStdout
+                ? new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16)
+                : new BufferedWriter(new FileWriter(output), 1 << 16);
+        Thread writer = new Thread(() -> {
+            try {
+                String text;
+                while ((text = lines.take()) != POISON) {
+                    if (writeError != null) {
+                        continue; // keep draining, or the workers block on a full queue
+                    }
+                    try {
+                        out.write(text);
+                    } catch (IOException e) {
+                        writeError = e;
+                    }
+                }
+                if (toStdout) {
+                    out.flush(); // leave System.out open
+                } else {
+                    out.close();
+                }
+            } catch (IOException e) {
+                if (writeError == null) {
+                    writeError = e;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "batch-verifier-writer");
+        writer.start();
+        return writer;
+    }
+}
@@ -0,0 +1,184 @@
+package com.mycompany.app.controllers.services.verifierServices;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.mycompany.app.controllers.services.SudokuVerifier.State;
+import com.mycompany.app.models.BoardGeometry;
+import com.mycompany.app.models.VerificationResult;
+
+/**
+ * Single-pass verifier built on digit bitmasks.
+ *
+ * One pass over the cells keeps, for each unit (rows, then columns, then
+ * boxes, see @see BoardGeometry):
+ * - seen: bit (d - 1) set once digit d appeared in the unit
+ * - duplicates: bit (d - 1) set once digit d appeared a second time
+ *
+ * Gives the same state as @see SudokuVerifier without copying the board or
+ * building Duplicate objects. The masks live in the instance and are reused
+ * while the board size stays the same, so verifying allocates nothing; the
+ * detailed duplicate report is only built when duplicateReport() is called.
+ * Any supported size works (4x4 up to 25x25, masks are ints).
+ *
+ * Not thread-safe: use one instance per thread.
+ *
+ * @author Hazem
+ */
+public class BitmaskVerifier {
+    private static final String[] UNIT_TYPES = { "ROW", "COL", "BOX" };
+
+    private BoardGeometry geometry = BoardGeometry.NINE;
+    private int[] seen = new int[27];
+    private int[] duplicates = new int[27];
+    private int[][] board;
+    private int emptyCells;
+    private boolean hasDuplicates;
+    private State state;
+
+    /**
+     * Verifies board and keeps its masks until the next call.
+     * @param board Square board of a supported size, 0 for empty cells (not modified, not copied)
+     * @return VALID, INVALID (any duplicate) or INCOMPLETE
+     * @throws IllegalArgumentException if the board size is not supported
+     */
+    public State verify(int[][] board) {
+        if (board.length != geometry.getSize()) {
+            geometry = BoardGeometry.of(board);
+            seen = new int[geometry.getUnitCount()];
+            duplicates = new int[geometry.getUnitCount()];
+        } else {
+            Arrays.fill(seen, 0);
+            Arrays.fill(duplicates, 0);
+        }
+        this.board = board;
+        int size = geometry.getSize();
+        int boxSize = geometry.getBoxSize();
+        int empty = 0;
+        int anyDuplicate = 0;
+
+        for (int row = 0; row < size; row++) {
+            int[] cells = board[row];
+            int boxBase = 2 * size + (row / boxSize) * boxSize;
+            for (int col = 0; col < size; col++) {
+                int value = cells[col];
+                if (value == 0) {
+                    empty++;
+                    continue;
+                }
+                int bit = 1 << (value - 1);
+                anyDuplicate |= mark(row, bit);
+                anyDuplicate |= mark(size + col, bit);
+                anyDuplicate |= mark(boxBase + col / boxSize, bit);
+            }
+        }
+
+        this.emptyCells = empty;
+        this.hasDuplicates = anyDuplicate != 0;
+        if (hasDuplicates) {
+            state = State.INVALID;
+        } else if (empty > 0) {
+            state = State.INCOMPLETE;
+        } else {
+            state = State.VALID;
+        }
+        return state;
+    }
+
+    private int mark(int unit, int bit) {
+        int duplicate = seen[unit] & bit;
+        duplicates[unit] |= duplicate;
+        seen[unit] |= bit;
+        return duplicate;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getEmptyCells() {
+        return emptyCells;
+    }
+
+    public boolean hasDuplicates() {
+        return hasDuplicates;
+    }
+
+    /**
+     * @param unit Rows first, then columns, then boxes (0-8, 9-17, 18-26 on 9x9)
+     * @return Bit (d - 1) set if digit d appears more than once in the unit
+     */
+    public int getDuplicateMask(int unit) {
+        return duplicates[unit];
+    }
+
+    /**
+     * Packs the last verification into a @see VerificationResult:
+     * state, conflict cells and a copy of the duplicate masks.
+     */
+    public VerificationResult toResult() {
+        int size = geometry.getSize();
+        long[] conflicts = new long[(geometry.getCells() + 63) >>> 6];
+        if (hasDuplicates) {
+            int[][] unitsOf = geometry.getUnitsOf();
+            for (int cell = 0; cell < geometry.getCells(); cell++) {
+                int value = board[cell / size][cell % size];
+                if (value == 0) {
+                    continue;
+                }
+                int[] units = unitsOf[cell];
+                int bit = 1 << (value - 1);
+                if (((duplicates[units[0]] | duplicates[units[1]] | duplicates[units[2]]) & bit) != 0) {
+                    conflicts[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+        return new VerificationResult(state, size, conflicts, duplicates.clone());
+    }
+
+    /**
+     * Builds the duplicate list in SudokuVerifier's format, one entry per
+     * duplicated digit per unit, e.g. "ROW 1, #5, [1, 3]" (1-based indices,
+     * positions within the unit). Ordered by type, unit, then digit.
+     */
+    public List<String> duplicateReport() {
+        List<String> report = new ArrayList<>();
+        if (!hasDuplicates) {
+            return report;
+        }
+
+        int size = geometry.getSize();
+        for (int unit = 0; unit < geometry.getUnitCount(); unit++) {
+            int mask = duplicates[unit];
+            while (mask != 0) {
+                int digit = Integer.numberOfTrailingZeros(mask) + 1;
+                mask &= mask - 1;
+
+                StringBuilder str = new StringBuilder(UNIT_TYPES[unit / size])
+                        .append(" ")
+                        .append(unit % size + 1)
+                        .append(", #")
+                        .append(digit)
+                        .append(", [");
+                boolean first = true;
+                for (int position = 0; position < size; position++) {
+                    if (valueAt(unit, position) == digit) {
+                        if (!first) {
+                            str.append(", ");
+                        }
+                        str.append(position + 1);
+                        first = false;
+                    }
+                }
+                report.add(str.append("]").toString());
+            }
+        }
+        return report;
+    }
+
+    private int valueAt(int unit, int position) {
+        int cell = geometry.getUnits()[unit][position];
+        return board[cell / geometry.getSize()][cell % geometry.getSize()];
+    }
+}
@@ -0,0 +1,150 @@
+package com.mycompany.app.controllers.services.verifierServices;
+
+import com.mycompany.app.controllers.services.SudokuVerifier.State;
+import com.mycompany.app.models.SudokuData;
+
+/**
+ * Verifier that follows a board edit by edit.
+ *
+ * Keeps, for each of the 27 units (rows 0-8, columns 9-17, boxes 18-26),
+ * how many times each digit appears, plus running totals of empty cells and
+ * of (unit, digit) pairs that appear more than once. A cell edit only
+ * touches the three units of that cell, and the state is read in O(1).
+ *
+ * Conflict cells are tracked too: a cell is in conflict when its digit
+ * appears more than once in at least one of its units. They are only
+ * recounted in a unit when a digit count crosses between 1 and 2.
+ *
+ * The verifier keeps its own copy of the cells, so the caller must report
+ * every change through apply(). 9x9 only (it follows the GUI's board).
+ *
+ * @author Hazem
+ */
+public class IncrementalVerifier {
+    private final int[] cells = new int[81];
+    private final int[] counts = new int[27 * 10];   // counts[unit * 10 + digit]
+    private final int[] conflictUnits = new int[81];  // units where the cell's digit is duplicated
+    private int emptyCells;
+    private int duplicatedDigits;                     // (unit, digit) pairs with count > 1
+    private int conflictCells;
+
+    /**
+     * @param board 9x9 board, 0 for empty cells (copied)
+     */
+    public IncrementalVerifier(int[][] board) {
+        if (board.length != 9) {
+            throw new IllegalArgumentException("IncrementalVerifier only supports 9x9 boards");
+        }
+        emptyCells = 81; // every cell starts empty and is filled through apply
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                apply(row, col, 0, board[row][col]);
+            }
+        }
+    }
+
+    /**
+     * Records that cell (row, col) changed from oldValue to newValue.
+     * @throws IllegalArgumentException if oldValue is not the tracked value
+     */
+    public void apply(int row, int col, int oldValue, int newValue) {
+        int cell = row * 9 + col;
+        if (cells[cell] != oldValue) {
+            throw new IllegalArgumentException("Cell [" + row + "][" + col + "] is "
+                    + cells[cell] + ", not " + oldValue);
+        }
+        if (oldValue == newValue) {
+            return;
+        }
+
+        if (oldValue == 0) {
+            emptyCells--;
+        } else {
+            remove(cell, oldValue);
+        }
+
+        cells[cell] = newValue;
+
+        if (newValue == 0) {
+            emptyCells++;
+        } else {
+            add(cell, newValue);
+        }
+    }
+
+    /**
+     * O(1): INVALID if any unit has a duplicate, else INCOMPLETE if any cell
+     * is empty, else VALID (same as @see SudokuVerifier#getState).
+     */
+    public State getState() {
+        if (duplicatedDigits > 0) {
+            return State.INVALID;
+        }
+        return (emptyCells > 0) ? State.INCOMPLETE : State.VALID;
+    }
+
+    public boolean isCompleteAndValid() {
+        return duplicatedDigits == 0 && emptyCells == 0;
+    }
+
+    public int getEmptyCells() {
+        return emptyCells;
+    }
+
+    /**
+     * @return true if the cell's digit appears more than once in one of its units
+     */
+    public boolean isConflict(int row, int col) {
+        return conflictUnits[row * 9 + col] > 0;
+    }
+
+    public int getConflictCells() {
+        return conflictCells;
+    }
+
+    private void add(int cell, int digit) {
+        for (int unit : SudokuData.UNITS_OF[cell]) {
+            int index = unit * 10 + digit;
+            counts[index]++;
+            if (counts[index] == 2) {
+                duplicatedDigits++;
+                markUnit(unit, digit, 1); // the one already there and this one
+            } else if (counts[index] > 2) {
+                markCell(cell, 1);
+            }
+        }
+    }
+
+    private void remove(int cell, int digit) {
+        for (int unit : SudokuData.UNITS_OF[cell]) {
+            int index = unit * 10 + digit;
+            if (counts[index] == 2) {
+                duplicatedDigits--;
+                markUnit(unit, digit, -1); // both stop conflicting here
+            } else if (counts[index] > 2) {
+                markCell(cell, -1);
+            }
+            counts[index]--;
+        }
+    }
+
+    /**
+     * Adds delta to the conflict count of every cell in unit holding digit.
+     */
+    private void markUnit(int unit, int digit, int delta) {
+        for (int cell : SudokuData.UNITS[unit]) {
+            if (cells[cell] == digit) {
+                markCell(cell, delta);
+            }
+        }
+    }
+
+    private void markCell(int cell, int delta) {
+        boolean before = conflictUnits[cell] > 0;
+        conflictUnits[cell] += delta;
+        boolean after = conflictUnits[cell] > 0;
+        if (before != after) {
+            conflictCells += after ? 1 : -1;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.mycompany.app.controllers.services.verifierServices;
+
+import java.util.List;
+
+import com.mycompany.app.controllers.services.SudokuVerifier.State;
+import com.mycompany.app.models.SudokuData;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Verifies many boards at once with SIMD lanes (Vector API).
+ *
+ * Boards are packed cell-major: all boards' cell 0, then all boards' cell 1,
+ * ... so one vector load reads the same cell of LANES consecutive boards.
+ * Each cell is stored as its digit bit (1 << (value - 1)), 0 when empty.
+ *
+ * Per unit, every lane keeps a digit-presence mask and a duplicate mask:
+ * dup |= seen & cell; seen |= cell. A lane whose duplicate mask is non-zero
+ * in any unit is INVALID, otherwise a zero cell makes it INCOMPLETE,
+ * otherwise VALID (same outcome as @see SudokuVerifier#getState).
+ *
+ * 9x9 only (one short lane per cell); other sizes go through
+ * @see BitmaskVerifier. Needs --add-modules jdk.incubator.vector
+ * (set in project.properties).
+ *
+ * @author Hazem
+ */
+public class VectorBatchVerifier {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    public static final int LANES = SPECIES.length();
+
+    /**
+     * Boards packed for the kernel.
+     */
+    public static class PackedBoards {
+        private final short[] bits; // bits[cell * stride + board]
+        private final int count;
+        private final int stride;   // count rounded up to a multiple of LANES
+
+        private PackedBoards(short[] bits, int count, int stride) {
+            this.bits = bits;
+            this.count = count;
+            this.stride = stride;
+        }
+
+        public int size() {
+            return count;
+        }
+    }
+
+    private VectorBatchVerifier() {
+    }
+
+    /**
+     * Packs boards (9x9, values 0-9) in the kernel's layout.
+     * Padding lanes are left empty and never reported.
+     */
+    public static PackedBoards pack(List<int[][]> boards) {
+        int count = boards.size();
+        int stride = ((count + LANES - 1) / LANES) * LANES;
+        short[] bits = new short[81 * stride];
+
+        for (int b = 0; b < count; b++) {
+            int[][] board = boards.get(b);
+            if (board.length != 9) {
+                throw new IllegalArgumentException("Board " + b + " is not 9x9, use BitmaskVerifier");
+            }
+            for (int row = 0; row < 9; row++) {
+                for (int col = 0; col < 9; col++) {
+                    int value = board[row][col];
+                    if (value != 0) {
+                        bits[(row * 9 + col) * stride + b] = (short) (1 << (value - 1));
+                    }
+                }
+            }
+        }
+        return new PackedBoards(bits, count, stride);
+    }
+
+    /**
+     * Verifies every packed board.
+     * @return One state per board, in packing order
+     */
+    public static State[] verify(PackedBoards boards) {
+        State[] states = new State[boards.count];
+        short[] bits = boards.bits;
+        int stride = boards.stride;
+        ShortVector zero = ShortVector.zero(SPECIES);
+
+        for (int base = 0; base < boards.count; base += LANES) {
+            ShortVector duplicates = zero;
+            ShortVector smallest = ShortVector.broadcast(SPECIES, Short.MAX_VALUE);
+
+            for (int unit = 0; unit < 27; unit++) {
+                ShortVector seen = zero;
+                ShortVector unitDuplicates = zero;
+                for (int cell : SudokuData.UNITS[unit]) {
+                    ShortVector digit = ShortVector.fromArray(SPECIES, bits, cell * stride + base);
+                    unitDuplicates = unitDuplicates.or(seen.and(digit));
+                    seen = seen.or(digit);
+                    if (unit < 9) {
+                        smallest = smallest.min(digit); // rows cover every cell once
+                    }
+                }
+                duplicates = duplicates.or(unitDuplicates);
+            }
+
+            VectorMask<Short> invalid = duplicates.compare(VectorOperators.NE, (short) 0);
+            VectorMask<Short> incomplete = smallest.compare(VectorOperators.EQ, (short) 0);
+
+            int lanes = Math.min(LANES, boards.count - base);
+            for (int lane = 0; lane < lanes; lane++) {
+                if (invalid.laneIsSet(lane)) {
+                    states[base + lane] = State.INVALID;
+                } else if (incomplete.laneIsSet(lane)) {
+                    states[base + lane] = State.INCOMPLETE;
+                } else {
+                    states[base + lane] = State.VALID;
+                }
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Packs and verifies in one call.
+     */
+    public static State[] verify(List<int[][]> boards) {
+        return verify(pack(boards));
+    }
+}
@@ -0,0 +1,139 @@
+package com.mycompany.app.controllers.services.verifierServices;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.mycompany.app.models.VerificationResult;
+
+/**
+ * Bounded LRU cache of verification results, keyed by the packed board.
+ *
+ * The key is the board itself packed 4 bits per cell (5 above 15x15), so a
+ * 9x9 board is 324 bits in 6 longs: no hash collisions are possible and a
+ * repeated verification (Verify clicked twice, undo then redo) costs one
+ * packing pass and one map lookup instead of a full verification.
+ * Least recently used entries are dropped once the cache is full. Hits and
+ * misses are counted for monitoring.
+ *
+ * Results are immutable, so the cached instance is returned as is.
+ *
+ * Thread-safe: all methods are synchronized.
+ *
+ * @author Hazem
+ */
+public class VerificationCache {
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    /**
+     * Packed board, used as the map key.
+     */
+    private static final class Key {
+        final int size;
+        final long[] words;
+        final int hash;
+
+        Key(int[][] board) {
+            this.size = board.length;
+            int bitsPerCell = (size <= 15) ? 4 : 5;
+            int cellsPerWord = 64 / bitsPerCell;
+            this.words = new long[(size * size + cellsPerWord - 1) / cellsPerWord];
+
+            int word = 0;
+            int shift = 0;
+            for (int[] row : board) {
+                for (int value : row) {
+                    words[word] |= (long) value << shift;
+                    shift += bitsPerCell;
+                    if (shift + bitsPerCell > 64) {
+                        word++;
+                        shift = 0;
+                    }
+                }
+            }
+            this.hash = 31 * size + Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return hash == key.hash && size == key.size && Arrays.equals(words, key.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, VerificationResult> entries;
+    private final BitmaskVerifier verifier = new BitmaskVerifier();
+    private long hits;
+    private long misses;
+
+    public VerificationCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public VerificationCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache needs room for at least one entry, got: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        // Access order: iteration starts at the least recently used entry
+        this.entries = new LinkedHashMap<Key, VerificationResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, VerificationResult> eldest) {
+                return size() > VerificationCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for this exact board, or verifies it with
+     * @see BitmaskVerifier and caches the result.
+     * @param board Square board of a supported size (not modified, not kept)
+     */
+    public synchronized VerificationResult verify(int[][] board) {
+        Key key = new Key(board);
+        VerificationResult result = entries.get(key);
+        if (result != null) {
+            hits++;
+            return result;
+        }
+        misses++;
+        verifier.verify(board);
+        result = verifier.toResult();
+        entries.put(key, result);
+        return result;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return (lookups == 0) ? 0 : (double) hits / lookups;
+    }
+}
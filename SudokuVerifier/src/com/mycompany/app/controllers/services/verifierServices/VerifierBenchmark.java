@@ -0,0 +1,144 @@
+package com.mycompany.app.controllers.services.verifierServices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.mycompany.app.controllers.services.SudokuVerifier;
+import com.mycompany.app.controllers.services.SudokuVerifier.State;
+
+/**
+ * Compares the scalar @see SudokuVerifier with the batch kernels on the same
+ * random mix of valid, invalid and incomplete boards, and checks that every
+ * board gets the same state from each.
+ * Run: java --add-modules jdk.incubator.vector
+ *          com.mycompany.app.controllers.services.verifierServices.VerifierBenchmark [boards]
+ *
+ * @author Hazem
+ */
+public class VerifierBenchmark {
+    private static final int ROUNDS = 10;
+
+    private static final int[][] SOLVED = {
+            { 5, 3, 4, 6, 7, 8, 9, 1, 2 },
+            { 6, 7, 2, 1, 9, 5, 3, 4, 8 },
+            { 1, 9, 8, 3, 4, 2, 5, 6, 7 },
+            { 8, 5, 9, 7, 6, 1, 4, 2, 3 },
+            { 4, 2, 6, 8, 5, 3, 7, 9, 1 },
+            { 7, 1, 3, 9, 2, 4, 8, 5, 6 },
+            { 9, 6, 1, 5, 3, 7, 2, 8, 4 },
+            { 2, 8, 7, 4, 1, 9, 6, 3, 5 },
+            { 3, 4, 5, 2, 8, 6, 1, 7, 9 }
+    };
+
+    public static void main(String[] args) {
+        int count = (args.length > 0) ? Integer.parseInt(args[0]) : 100_000;
+        List<int[][]> boards = randomBoards(count, new Random(42));
+
+        State[] expected = scalar(boards);
+        State[] vector = VectorBatchVerifier.verify(boards);
+        check("vector", expected, vector);
+        check("bitmask", expected, bitmask(boards));
+        check("verdict", expected, verdict(boards));
+
+        System.out.println(count + " boards, " + VectorBatchVerifier.LANES + " lanes");
+        report("scalar SudokuVerifier", count, () -> scalar(boards));
+        report("bitmask single pass", count, () -> bitmask(boards));
+        report("verdict (early exit)", count, () -> verdict(boards));
+        report("vector (incl. packing)", count, () -> VectorBatchVerifier.verify(boards));
+        VectorBatchVerifier.PackedBoards packed = VectorBatchVerifier.pack(boards);
+        report("vector (kernel only)", count, () -> VectorBatchVerifier.verify(packed));
+    }
+
+    private static State[] scalar(List<int[][]> boards) {
+        State[] states = new State[boards.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new SudokuVerifier(boards.get(i)).getState();
+        }
+        return states;
+    }
+
+    private static State[] bitmask(List<int[][]> boards) {
+        BitmaskVerifier verifier = new BitmaskVerifier();
+        State[] states = new State[boards.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = verifier.verify(boards.get(i));
+        }
+        return states;
+    }
+
+    private static State[] verdict(List<int[][]> boards) {
+        State[] states = new State[boards.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = SudokuVerifier.verdict(boards.get(i));
+        }
+        return states;
+    }
+
+    private static void check(String name, State[] expected, State[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] != actual[i]) {
+                throw new IllegalStateException(name + " disagrees on board " + i
+                        + ": expected " + expected[i] + ", got " + actual[i]);
+            }
+        }
+    }
+
+    private static void report(String name, int count, Runnable run) {
+        for (int i = 0; i < ROUNDS; i++) {
+            run.run(); // warm-up
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            run.run();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9 / ROUNDS;
+        System.out.printf("%-24s %10.2f ms %14.0f boards/sec%n", name, seconds * 1e3, count / seconds);
+    }
+
+    /**
+     * Valid boards (digit relabelling of SOLVED), some with a changed cell
+     * (usually a duplicate) and some with emptied cells.
+     */
+    private static List<int[][]> randomBoards(int count, Random random) {
+        List<int[][]> boards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int[] relabel = new int[10];
+            List<Integer> digits = new ArrayList<>();
+            for (int d = 1; d <= 9; d++) {
+                digits.add(d);
+            }
+            Collections.shuffle(digits, random);
+            for (int d = 1; d <= 9; d++) {
+                relabel[d] = digits.get(d - 1);
+            }
+
+            int[][] board = new int[9][9];
+            for (int row = 0; row < 9; row++) {
+                for (int col = 0; col < 9; col++) {
+                    board[row][col] = relabel[SOLVED[row][col]];
+                }
+            }
+
+            switch (random.nextInt(4)) {
+                case 0:
+                    board[random.nextInt(9)][random.nextInt(9)] = 1 + random.nextInt(9);
+                    break;
+                case 1:
+                    for (int k = random.nextInt(20); k >= 0; k--) {
+                        board[random.nextInt(9)][random.nextInt(9)] = 0;
+                    }
+                    break;
+                case 2:
+                    board[random.nextInt(9)][random.nextInt(9)] = 1 + random.nextInt(9);
+                    board[random.nextInt(9)][random.nextInt(9)] = 0;
+                    break;
+                default:
+                    break;
+            }
+            boards.add(board);
+        }
+        return boards;
+    }
+}
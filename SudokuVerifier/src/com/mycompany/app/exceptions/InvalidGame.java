@@ -1,7 +1,7 @@
 package com.mycompany.app.exceptions;
 
 /**
- * Exception thrown when a game cannot be solved (e.g., not exactly 5 empty cells, or invalid state).
+ * Exception thrown when a game cannot be solved (e.g., conflicting values, no solution, or invalid state).
  */
 public class InvalidGame extends Exception {
     public InvalidGame(String message) {
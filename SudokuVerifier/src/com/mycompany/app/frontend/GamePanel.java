@@ -6,6 +6,7 @@ package com.mycompany.app.frontend;
 
 import com.mycompany.app.exceptions.InvalidGame;
 import com.mycompany.app.models.UserAction;
+import com.mycompany.app.models.VerificationResult;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.GridBagConstraints;
@@ -121,7 +122,7 @@ public class GamePanel extends javax.swing.JPanel {
         btnSolve.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
         btnSolve.setForeground(new java.awt.Color(0, 0, 0));
         btnSolve.setText("Solve");
-        btnSolve.setToolTipText("disabled unless the number of remaining empty cells is exactly 5");
+        btnSolve.setToolTipText("disabled unless there is at least one empty cell");
         btnSolve.setOpaque(true);
         btnSolve.setPreferredSize(new java.awt.Dimension(90, 40));
         btnSolve.addActionListener(new java.awt.event.ActionListener() {
@@ -158,7 +159,7 @@ public class GamePanel extends javax.swing.JPanel {
             JOptionPane.showMessageDialog(this, "Please fill all cells before verifying.", "Incomplete", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        boolean[][] verification = this.mainFrame.getAdapter().verifyGame(board);
+        VerificationResult verification = this.mainFrame.getAdapter().verifyGame(board);
         boolean allValid = colorCells(verification);
         if (allValid) {
             boolean processed = mainFrame.getController().handleGameCompletion();
@@ -200,8 +201,8 @@ public class GamePanel extends javax.swing.JPanel {
     }//GEN-LAST:event_btnUndoActionPerformed
 
     private void btnSolveActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnSolveActionPerformed
-        if (countEmptyCells() != 5) {
-            JOptionPane.showMessageDialog(this, "Solver only works when exactly 5 cells are empty.", "Solver Constraint", JOptionPane.WARNING_MESSAGE);
+        if (countEmptyCells() == 0) {
+            JOptionPane.showMessageDialog(this, "There are no empty cells to solve.", "Solver Constraint", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
@@ -212,8 +213,8 @@ public class GamePanel extends javax.swing.JPanel {
                 int r = step[0];
                 int c = step[1];
                 int val = step[2];
-                board[r][c] = val;
                 cells[r][c].setText(String.valueOf(val));
+                // Updates the shared board, so the previous value (0) is logged for undo
                 mainFrame.getAdapter().logAndUpdateCell(r, c, val);
             }
         } catch (InvalidGame ex) {
@@ -227,12 +228,12 @@ public class GamePanel extends javax.swing.JPanel {
         return mainFrame.getController().getEmptyCellCount();
     }
 
-    private boolean colorCells(boolean[][] isValid) {
+    private boolean colorCells(VerificationResult verification) {
         boolean allValid = true;
         for (int row = 0; row < 9; row++) {
             // Fixed loop condition (was col < 0)
             for (int col = 0; col < 9; col++) {
-                if (!isValid[row][col]) {
+                if (verification.isConflict(row, col)) {
                     allValid = false;
                     cells[row][col].setBackground(new Color(255, 100, 100)); // Light Red
                 }
@@ -245,7 +246,7 @@ public class GamePanel extends javax.swing.JPanel {
         try {
             mainFrame.getAdapter().logAndUpdateCell(row, col, value);
         } catch (IOException ex) {
-            System.err.println("Failed to log cell change: " + ex.getMessage());
+            JOptionPane.showMessageDialog(this, "Failed to save cell change: " + ex.getMessage(), "Warning", JOptionPane.WARNING_MESSAGE);
         }
     }
 
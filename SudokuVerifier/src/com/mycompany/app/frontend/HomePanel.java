@@ -8,7 +8,9 @@ package com.mycompany.app.frontend;
 
 import com.mycompany.app.exceptions.NotFoundException;
 import com.mycompany.app.exceptions.SolutionInvalidException;
+import com.mycompany.app.models.DifficultyEnum;
 import java.io.File;
+import java.util.List;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -164,8 +166,14 @@ public class HomePanel extends javax.swing.JPanel {
             File file = fileChooser.getSelectedFile();
             try {
                 // Call Adapter to drive games
-                mainFrame.getAdapter().driveGames(file.getAbsolutePath());
-                JOptionPane.showMessageDialog(this, "Games generated successfully!");
+                List<DifficultyEnum> skipped = mainFrame.getAdapter().driveGames(file.getAbsolutePath());
+                if (skipped.isEmpty()) {
+                    JOptionPane.showMessageDialog(this, "Games generated successfully!");
+                } else {
+                    JOptionPane.showMessageDialog(this, "Games generated, except " + skipped
+                            + ": every puzzle generated for them is already stored.",
+                            "Some Levels Skipped", JOptionPane.WARNING_MESSAGE);
+                }
                 // Now show the buttons
                 showDifficultyButtons();
             } catch (SolutionInvalidException ex) {
@@ -0,0 +1,133 @@
+package com.mycompany.app.models;
+
+/**
+ * Shape of an n²×n² board: 4x4, 9x9, 16x16 or 25x25.
+ *
+ * Holds the index tables every verifier and solver needs, built once per
+ * size and shared (Flyweight): boards are never copied, cells are addressed
+ * as row * size + col and units are numbered rows 0..size-1, columns
+ * size..2*size-1, boxes 2*size..3*size-1.
+ *
+ * Digit d is bit (d - 1) of an int mask, so up to 25 digits fit; that is
+ * why 25x25 is the largest supported size.
+ *
+ * The tables are shared and must not be modified.
+ *
+ * @author Hazem
+ */
+public class BoardGeometry {
+    public static final int MIN_BOX_SIZE = 2;
+    public static final int MAX_BOX_SIZE = 5;
+
+    private static final BoardGeometry[] BY_BOX_SIZE = new BoardGeometry[MAX_BOX_SIZE + 1];
+
+    static {
+        for (int boxSize = MIN_BOX_SIZE; boxSize <= MAX_BOX_SIZE; boxSize++) {
+            BY_BOX_SIZE[boxSize] = new BoardGeometry(boxSize);
+        }
+    }
+
+    public static final BoardGeometry NINE = BY_BOX_SIZE[3];
+
+    private final int boxSize;
+    private final int size;
+    private final int cells;
+    private final int allDigits;
+    private final int[][] units;    // units[unit][position] = cell
+    private final int[][] unitsOf;  // unitsOf[cell] = { row, size + col, 2 * size + box }
+
+    private BoardGeometry(int boxSize) {
+        this.boxSize = boxSize;
+        this.size = boxSize * boxSize;
+        this.cells = size * size;
+        this.allDigits = (1 << size) - 1;
+        this.units = new int[3 * size][size];
+        this.unitsOf = new int[cells][3];
+
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            int box = box(row, col);
+            units[row][col] = cell;
+            units[size + col][row] = cell;
+            units[2 * size + box][(row % boxSize) * boxSize + col % boxSize] = cell;
+            unitsOf[cell][0] = row;
+            unitsOf[cell][1] = size + col;
+            unitsOf[cell][2] = 2 * size + box;
+        }
+    }
+
+    /**
+     * @return true for 4, 9, 16 and 25
+     */
+    public static boolean isSupported(int size) {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        return boxSize >= MIN_BOX_SIZE && boxSize <= MAX_BOX_SIZE && boxSize * boxSize == size;
+    }
+
+    /**
+     * @param size Side of the board (4, 9, 16 or 25)
+     * @throws IllegalArgumentException for any other size
+     */
+    public static BoardGeometry of(int size) {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        if (!isSupported(size)) {
+            throw new IllegalArgumentException("Unsupported board size " + size + ", expected 4, 9, 16 or 25");
+        }
+        return BY_BOX_SIZE[boxSize];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the board is not a supported square size
+     */
+    public static BoardGeometry of(int[][] board) {
+        BoardGeometry geometry = of(board.length);
+        for (int row = 0; row < board.length; row++) {
+            if (board[row] == null || board[row].length != board.length) {
+                throw new IllegalArgumentException("Row " + (row + 1) + " must have " + board.length + " cells");
+            }
+        }
+        return geometry;
+    }
+
+    public int getBoxSize() {
+        return boxSize;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCells() {
+        return cells;
+    }
+
+    public int getUnitCount() {
+        return 3 * size;
+    }
+
+    /**
+     * @return Mask with one bit per digit (bit d - 1 for digit d)
+     */
+    public int getAllDigits() {
+        return allDigits;
+    }
+
+    public int box(int row, int col) {
+        return (row / boxSize) * boxSize + col / boxSize;
+    }
+
+    /**
+     * @return units[unit][position] = cell index (shared, do not modify)
+     */
+    public int[][] getUnits() {
+        return units;
+    }
+
+    /**
+     * @return unitsOf[cell] = { row, size + col, 2 * size + box } (shared, do not modify)
+     */
+    public int[][] getUnitsOf() {
+        return unitsOf;
+    }
+}
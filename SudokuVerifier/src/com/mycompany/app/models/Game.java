@@ -7,6 +7,8 @@ package com.mycompany.app.models;
  * The board is represented as a 9x9 integer array where:
  * Values 1-9 represent filled cells
  * Value 0 represents an empty cell
+ * (4x4, 16x16 and 25x25 boards work the same way with values 1-size,
+ * see @see BoardGeometry; the GUI itself is 9x9)
  * 
  * @author Nour
  */
@@ -37,10 +39,14 @@ public class Game {
       return difficulty;
    }
 
+   public int getSize() {
+      return board.length;
+   }
+
    public int countEmptyCells(int[][] board) {
       int count = 0;
-      for (int i = 0; i < 9; i++) {
-         for (int j = 0; j < 9; j++) {
+      for (int i = 0; i < board.length; i++) {
+         for (int j = 0; j < board.length; j++) {
             if (board[i][j] == 0)
                count++;
          }
@@ -48,13 +54,17 @@ public class Game {
       return count;
    }
 
+   /**
+    * @return Empty cells in row-major order, encoded as row * size + col
+    */
    public int[] findEmptyCells(int[][] board) {
+      int size = board.length;
       int[] emptyCells = new int[countEmptyCells(board)];
       int index = 0;
-      for (int i = 0; i < 9; i++) {
-         for (int j = 0; j < 9; j++) {
+      for (int i = 0; i < size; i++) {
+         for (int j = 0; j < size; j++) {
             if (board[i][j] == 0)
-               emptyCells[index++] = i * 9 + j;
+               emptyCells[index++] = i * size + j;
          }
       }
       return emptyCells;
@@ -5,59 +5,69 @@
 package com.mycompany.app.models;
 
 /**
+ * Row, column and box views over a board, without copying it.
+ *
+ * The @see BoardGeometry tables map a (unit, position) pair to a cell index
+ * (row * size + col), so reading a column or a box is a table lookup into
+ * the source board instead of a copy. Units are numbered rows, then
+ * columns, then boxes (0-8, 9-17, 18-26 on a 9x9 board); positions inside a
+ * box go left to right, top to bottom.
+ *
+ * UNITS and UNITS_OF are the 9x9 tables, for the 9x9-only engines.
+ * They are shared and must not be modified.
  *
  * @author Hazem
  */
 public class SudokuData {
-        private int[][] rows;      // 9x9 array
-        private int[][] columns;   // 9x9 array
-        private int[][] boxes;     // 9x9 array
+    /** 9x9: UNITS[unit][position] = cell index (row * 9 + col) */
+    public static final int[][] UNITS = BoardGeometry.NINE.getUnits();
 
-        public SudokuData() {
-            rows = new int[9][9];
-            columns = new int[9][9];
-            boxes = new int[9][9];
-        }
+    /** 9x9: UNITS_OF[cell] = { row, 9 + col, 18 + box } */
+    public static final int[][] UNITS_OF = BoardGeometry.NINE.getUnitsOf();
+
+    private final int[][] board;
+    private final BoardGeometry geometry;
+    private final int[][] units;
+    private final int size;
 
     /**
-     * @return the rows
+     * @param board Square board of a supported size (not copied, later changes show through)
+     * @throws IllegalArgumentException if the board size is not supported
      */
-    public int[][] getRows() {
-        return rows;
+    public SudokuData(int[][] board) {
+        this.board = board;
+        this.geometry = BoardGeometry.of(board);
+        this.units = geometry.getUnits();
+        this.size = geometry.getSize();
     }
 
-    /**
-     * @param rows the rows to set
-     */
-    public void setRows(int[][] rows) {
-        this.rows = rows;
+    public BoardGeometry getGeometry() {
+        return geometry;
     }
 
-    /**
-     * @return the columns
-     */
-    public int[][] getColumns() {
-        return columns;
+    public int getSize() {
+        return size;
     }
 
     /**
-     * @param columns the columns to set
+     * @param unit Rows first, then columns, then boxes
+     * @param position 0..size-1 inside the unit
+     * @return The value at that position
      */
-    public void setColumns(int[][] columns) {
-        this.columns = columns;
+    public int get(int unit, int position) {
+        int cell = units[unit][position];
+        return board[cell / size][cell % size];
     }
 
-    /**
-     * @return the boxes
-     */
-    public int[][] getBoxes() {
-        return boxes;
+    public int getRow(int row, int position) {
+        return board[row][position];
     }
 
-    /**
-     * @param boxes the boxes to set
-     */
-    public void setBoxes(int[][] boxes) {
-        this.boxes = boxes;
+    public int getColumn(int col, int position) {
+        return board[position][col];
+    }
+
+    public int getBox(int box, int position) {
+        return get(2 * size + box, position);
     }
 }
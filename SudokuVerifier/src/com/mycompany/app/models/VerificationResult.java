@@ -0,0 +1,91 @@
+package com.mycompany.app.models;
+
+import com.mycompany.app.controllers.services.SudokuVerifier.State;
+
+/**
+ * Result of verifying a board, passed from the controller to the view.
+ *
+ * Contains:
+ * - state: VALID, INVALID or INCOMPLETE
+ * - conflict cells: one bit per cell (row * size + col), packed 64 to a long,
+ *   set if the cell's value is duplicated in its row, column or box
+ * - duplicate masks: one per unit (rows, then columns, then boxes),
+ *   bit (d - 1) set if digit d appears more than once in that unit
+ *
+ * toString() gives the old "STATE|row,col|row,col|" form, for logging only.
+ */
+public class VerificationResult {
+    private final State state;
+    private final int size;
+    private final long[] conflicts;
+    private final int[] duplicateMasks;
+
+    /**
+     * @param conflicts Bit (cell % 64) of conflicts[cell / 64] per conflicting cell
+     */
+    public VerificationResult(State state, int size, long[] conflicts, int[] duplicateMasks) {
+        this.state = state;
+        this.size = size;
+        this.conflicts = conflicts;
+        this.duplicateMasks = duplicateMasks;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isValid() {
+        return state == State.VALID;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return true if the cell is part of a duplicate
+     */
+    public boolean isConflict(int row, int col) {
+        int cell = row * size + col;
+        return (conflicts[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public boolean hasConflicts() {
+        for (long word : conflicts) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getConflictCount() {
+        int count = 0;
+        for (long word : conflicts) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @param unit Rows first, then columns, then boxes (0-8, 9-17, 18-26 on 9x9)
+     * @return Bit (d - 1) set if digit d appears more than once in the unit
+     */
+    public int getDuplicateMask(int unit) {
+        return duplicateMasks[unit];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(state.toString()).append("|");
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (isConflict(row, col)) {
+                    result.append(row).append(",").append(col).append("|");
+                }
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.mycompany.app.utility;
+
+/**
+ * Bloom filter over 128-bit hashes (two 64-bit halves).
+ *
+ * mightContain() never answers false for something that was added; it
+ * answers true for something that was not with about the false positive
+ * rate it was sized for, as long as no more than expectedEntries are added.
+ * The k probe positions are h1 + i * h2 (double hashing), so one 128-bit
+ * hash is enough for any k.
+ *
+ * Not thread-safe.
+ */
+public class BloomFilter {
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int expectedEntries;
+
+    /**
+     * @param expectedEntries Entries it is sized for
+     * @param falsePositiveRate Wanted rate at that many entries, e.g. 0.01
+     */
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        if (expectedEntries < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing: " + expectedEntries
+                    + " entries, false positive rate " + falsePositiveRate);
+        }
+        long m = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) ((Math.max(m, 64) + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+        this.expectedEntries = expectedEntries;
+    }
+
+    public void add(long h1, long h2) {
+        long probe = h1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(probe, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+            probe += h2;
+        }
+    }
+
+    public boolean mightContain(long h1, long h2) {
+        long probe = h1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(probe, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+            probe += h2;
+        }
+        return true;
+    }
+
+    public int getExpectedEntries() {
+        return expectedEntries;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+}
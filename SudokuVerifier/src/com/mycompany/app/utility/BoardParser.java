@@ -0,0 +1,452 @@
+package com.mycompany.app.utility;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import com.mycompany.app.models.BoardGeometry;
+
+/**
+ * Reads boards straight from the bytes of a channel.
+ *
+ * Input is read in 64 KB blocks into one reused buffer; lines are byte
+ * ranges of that buffer and values are decoded digit by digit, so parsing
+ * creates no strings or other temporary objects: the boards themselves are
+ * the only allocation (error messages aside). Line ends are "\n", "\r\n" or
+ * "\r", like BufferedReader.readLine, and the error messages and positions
+ * are the ones CSVReader has always reported.
+ *
+ * Formats: see @see CSVReader#readCSV(String, boolean) (one board) and
+ * @see CSVReader#readBoards(String) (many boards, CSV rows or one line each).
+ *
+ * Not thread-safe; one parser per channel.
+ *
+ * @author Hazem
+ */
+public class BoardParser {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Cell value of each byte in the one-line format, -1 if not a cell:
+     * '.' and '0' are empty, then digits, then letters (either case) from 10.
+     */
+    private static final int[] CELL_VALUES = new int[256];
+
+    static {
+        Arrays.fill(CELL_VALUES, -1);
+        CELL_VALUES['.'] = 0;
+        for (int ch = '0'; ch <= '9'; ch++) {
+            CELL_VALUES[ch] = ch - '0';
+        }
+        for (int ch = 'A'; ch <= 'Z'; ch++) {
+            CELL_VALUES[ch] = ch - 'A' + 10;
+            CELL_VALUES[ch - 'A' + 'a'] = ch - 'A' + 10;
+        }
+    }
+
+    private final ReadableByteChannel channel;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private ByteBuffer view = ByteBuffer.wrap(buffer);
+    private int position;         // first unread byte
+    private int limit;            // end of the bytes read so far
+    private boolean endOfInput;
+    private boolean skipLineFeed; // previous line ended with '\r'
+
+    private int lineStart;        // current line is buffer[lineStart, lineEnd)
+    private int lineEnd;
+    private int lineNumber;
+
+    private final int[][][] reusedBoards = new int[BoardGeometry.MAX_BOX_SIZE * BoardGeometry.MAX_BOX_SIZE + 1][][];
+
+    /**
+     * @param channel Input, read to the end (not closed)
+     */
+    public BoardParser(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * @see CSVReader#readCSV(String, boolean)
+     */
+    public static int[][] readBoard(String filePath, boolean allowZeros) throws IOException, NumberFormatException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            return new BoardParser(channel).readBoard(allowZeros);
+        }
+    }
+
+    /**
+     * @see CSVReader#readBoards(String)
+     */
+    public static void readBoards(String filePath, Consumer<int[][]> consumer) throws IOException, NumberFormatException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            new BoardParser(channel).readBoards(consumer);
+        }
+    }
+
+    /**
+     * Reads the whole input as one CSV board; its size comes from the
+     * number of values in the first row.
+     */
+    public int[][] readBoard(boolean allowZeros) throws IOException, NumberFormatException {
+        int[][] board = null;
+        int size = 9;
+        int rowIndex = 0;
+
+        while (nextLine()) {
+            if (rowIndex == 0) {
+                size = boardSize();
+                board = new int[size][size];
+            }
+
+            //@Validation ~ hazem
+            if (rowIndex >= size) {
+                throw new IOException("Input file contains more than " + size + " rows.");
+            }
+            //EOV
+
+            parseRow(rowIndex, allowZeros, board[rowIndex]);
+            rowIndex++;
+        }
+
+        //@Validation ~ hazem
+        if (rowIndex < size) {
+            throw new IOException("Input file contains less than " + size + " rows, found " + rowIndex + ".");
+        }
+        //EOV
+
+        return board;
+    }
+
+    /**
+     * Streams every board of the input to consumer as soon as it is complete.
+     */
+    public void readBoards(Consumer<int[][]> consumer) throws IOException, NumberFormatException {
+        readBoards(consumer, false);
+    }
+
+    /**
+     * Like @see #readBoards(Consumer), but every board of a given size is
+     * parsed into the same array, so a whole file is read with no allocation
+     * at all. For consumers that are done with a board when they return
+     * (counting, auditing); the board must not be kept or handed to another
+     * thread.
+     */
+    public void scanBoards(Consumer<int[][]> consumer) throws IOException, NumberFormatException {
+        readBoards(consumer, true);
+    }
+
+    private void readBoards(Consumer<int[][]> consumer, boolean reuse) throws IOException, NumberFormatException {
+        int[][] board = null;
+        int rowIndex = 0;
+
+        while (nextLine()) {
+            trimLine();
+            if (lineStart == lineEnd) {
+                continue;
+            }
+
+            if (rowIndex == 0 && !lineContains((byte) ',') && isLineSize(lineEnd - lineStart)) {
+                consumer.accept(parseLine(reuse));
+                continue;
+            }
+
+            try {
+                if (rowIndex == 0) {
+                    board = newBoard(boardSize(), reuse);
+                }
+                parseRow(rowIndex, true, board[rowIndex]);
+            } catch (IOException e) {
+                throw new IOException("Line " + lineNumber + ": " + e.getMessage());
+            }
+            rowIndex++;
+
+            if (rowIndex == board.length) {
+                consumer.accept(board);
+                rowIndex = 0;
+            }
+        }
+
+        //@Validation ~ hazem
+        if (rowIndex != 0) {
+            throw new IOException("Last board contains less than " + board.length + " rows, found " + rowIndex + ".");
+        }
+        //EOV
+    }
+
+    /**
+     * Moves to the next line.
+     * @return false at the end of the input
+     */
+    private boolean nextLine() throws IOException {
+        while (true) {
+            if (skipLineFeed) {
+                if (position < limit) {
+                    if (buffer[position] == '\n') {
+                        position++;
+                    }
+                    skipLineFeed = false;
+                } else if (endOfInput) {
+                    skipLineFeed = false;
+                } else {
+                    fill();
+                    continue;
+                }
+            }
+
+            for (int i = position; i < limit; i++) {
+                byte b = buffer[i];
+                if (b == '\n' || b == '\r') {
+                    lineStart = position;
+                    lineEnd = i;
+                    position = i + 1;
+                    skipLineFeed = (b == '\r');
+                    lineNumber++;
+                    return true;
+                }
+            }
+
+            if (endOfInput) {
+                if (position == limit) {
+                    return false;
+                }
+                lineStart = position; // last line has no line end
+                lineEnd = limit;
+                position = limit;
+                lineNumber++;
+                return true;
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Keeps the unread bytes (a partial line) and reads more after them;
+     * the buffer only grows for a line longer than it.
+     */
+    private void fill() throws IOException {
+        int unread = limit - position;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, unread);
+        } else if (unread == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            view = ByteBuffer.wrap(buffer);
+        }
+        position = 0;
+        limit = unread;
+
+        view.limit(buffer.length).position(limit);
+        int read = channel.read(view);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    /**
+     * Drops leading and trailing whitespace, like String.trim.
+     */
+    private void trimLine() {
+        while (lineStart < lineEnd && (buffer[lineStart] & 0xFF) <= ' ') {
+            lineStart++;
+        }
+        while (lineEnd > lineStart && (buffer[lineEnd - 1] & 0xFF) <= ' ') {
+            lineEnd--;
+        }
+    }
+
+    private boolean lineContains(byte b) {
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (buffer[i] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of comma-separated values in the line, counted like
+     * line.split(",").length (trailing empty values are not counted).
+     */
+    private int countValues() {
+        if (lineStart == lineEnd) {
+            return 1;
+        }
+        int end = lineEnd;
+        while (end > lineStart && buffer[end - 1] == ',') {
+            end--;
+        }
+        if (end == lineStart) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = lineStart; i < end; i++) {
+            if (buffer[i] == ',') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Board size, from the number of values in the first row.
+     */
+    private int boardSize() throws IOException {
+        int size = countValues();
+
+        //@Validation ~ hazem
+        if (!BoardGeometry.isSupported(size)) {
+            throw new IOException("Row 1 must contain 4, 9, 16 or 25 values, found " + size + ".");
+        }
+        //EOV
+
+        return size;
+    }
+
+    private int[][] newBoard(int size, boolean reuse) {
+        if (!reuse) {
+            return new int[size][size];
+        }
+        if (reusedBoards[size] == null) {
+            reusedBoards[size] = new int[size][size];
+        }
+        return reusedBoards[size];
+    }
+
+    private static boolean isLineSize(int length) {
+        int size = (int) Math.sqrt(length);
+        return size * size == length && BoardGeometry.isSupported(size);
+    }
+
+    /**
+     * Parses the current line as one CSV row of a board into target
+     * (target.length values).
+     */
+    private void parseRow(int rowIndex, boolean allowZeros, int[] target) throws IOException {
+        int size = target.length;
+        if (parseSimpleRow(allowZeros ? 0 : 1, target)) {
+            return;
+        }
+        int values = countValues();
+
+        //@Validation ~ hazem
+        if (values != size) {
+            throw new IOException("Row " + (rowIndex + 1) + " must contain exactly " + size + " values, found " + values + ".");
+        }
+        //EOV
+
+        int start = lineStart;
+        for (int colIndex = 0; colIndex < size; colIndex++) {
+            int end = start;
+            while (end < lineEnd && buffer[end] != ',') {
+                end++;
+            }
+            int value = parseInt(start, end);
+
+            //@Validation ~ hazem
+            int min = allowZeros ? 0 : 1; // 0 = empty cell, only for incomplete games
+            if ((value > size) || (value < min)) {
+                throw new IOException("Invalid value at [" + (rowIndex + 1)
+                        + "][" + (colIndex + 1)
+                        + "] = {"
+                        + value
+                        + "}\n");
+            }
+            //EOV
+
+            target[colIndex] = value;
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Fast path for the usual row: exactly "d,d,...,d" with single digits in
+     * range. Anything else is left to the general path, which also produces
+     * the error messages.
+     * @return true if the row was parsed into target
+     */
+    private boolean parseSimpleRow(int min, int[] target) {
+        int size = target.length;
+        if (lineEnd - lineStart != 2 * size - 1) {
+            return false;
+        }
+        for (int col = 0, i = lineStart; col < size; col++, i += 2) {
+            int value = buffer[i] - '0';
+            if (value < min || value > size || value > 9 || (col > 0 && buffer[i - 1] != ',')) {
+                return false;
+            }
+            target[col] = value;
+        }
+        return true;
+    }
+
+    /**
+     * Integer.parseInt of buffer[start, end), trimmed, without a String.
+     */
+    private int parseInt(int start, int end) {
+        while (start < end && (buffer[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+        if (i == end || end - i > 10) {
+            throw invalidNumber(start, end);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidNumber(start, end);
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw invalidNumber(start, end);
+        }
+        return (int) value;
+    }
+
+    private NumberFormatException invalidNumber(int start, int end) {
+        return new NumberFormatException("For input string: \""
+                + new String(buffer, start, end - start, StandardCharsets.UTF_8) + "\"");
+    }
+
+    /**
+     * Parses the current line as a one-line board of size * size characters
+     * ('0' or '.' for empty cells, letters for values above 9).
+     */
+    private int[][] parseLine(boolean reuse) throws IOException {
+        int length = lineEnd - lineStart;
+        int size = (int) Math.sqrt(length);
+        int[][] board = newBoard(size, reuse);
+        int i = lineStart;
+        for (int[] row : board) {
+            for (int col = 0; col < size; col++, i++) {
+                int value = CELL_VALUES[buffer[i] & 0xFF];
+                //@Validation ~ hazem
+                if (value < 0 || value > size) {
+                    throw new IOException("Line " + lineNumber + ": invalid character '" + (char) (buffer[i] & 0xFF)
+                            + "' at position " + (i - lineStart + 1) + ".");
+                }
+                //EOV
+                row[col] = value;
+            }
+        }
+        return board;
+    }
+}
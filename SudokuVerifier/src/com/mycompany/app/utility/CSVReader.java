@@ -1,84 +1,80 @@
 package com.mycompany.app.utility;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
+/**
+ * Board file formats. Parsing is done on raw bytes by @see BoardParser.
+ */
 public class CSVReader {
 
     /**
      * Reads a Sudoku board from a CSV file.
+     * The board size (4, 9, 16 or 25) is taken from the number of values in
+     * the first row; every row must then have that many values.
      * 
      * @param filePath Path to the CSV file
-     * @param allowZeros If true, allows values 0-9 (0 represents empty cells for incomplete games).
-     *                   If false, only allows values 1-9 (strict mode for solved boards).
-     * @return int[][] representing the 9x9 Sudoku board
+     * @param allowZeros If true, allows values 0-size (0 represents empty cells for incomplete games).
+     *                   If false, only allows values 1-size (strict mode for solved boards).
+     * @return int[][] representing the Sudoku board (9x9 for the usual files)
      * @throws IOException if file cannot be read or contains invalid data
      * @throws NumberFormatException if values cannot be parsed as integers
      */
     public static int[][] readCSV(String filePath, boolean allowZeros) throws IOException, NumberFormatException {
-        int[][] board = new int[9][9];
-
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            int rowIndex = 0;
-
-            while ((line = br.readLine()) != null) {
-
-                //@Validation ~ hazem
-                if (rowIndex >= 9) {
-                    throw new IOException("Input file contains more than 9 rows.");
-                }
-                //EOV
-
-                String[] values = line.split(",");
-
-                //@Validation ~ hazem
-                if (values.length != 9) {
-                    throw new IOException("Row " + (rowIndex + 1) + " must contain exactly 9 values, found " + values.length + ".");
-                }
-                //EOV
-
-                for (int colIndex = 0; colIndex < 9 && colIndex < values.length; colIndex++) {
-                    int value = Integer.parseInt(values[colIndex].trim());
-
-                    //@Validation ~ hazem
-                    if (allowZeros) {
-                        // Allow 0-9 for incomplete games (0 = empty cell)
-                        if ((value > 9) || (value < 0)) {
-                            throw new IOException("Invalid value at [" + String.valueOf(rowIndex + 1)
-                                    + "][" + String.valueOf(colIndex + 1)
-                                    + "] = {"
-                                    + String.valueOf(value)
-                                    + "}\n");
-                        }
-                    } else {
-                        // Strict mode: only 1-9 allowed (for solved boards)
-                        if ((value > 9) || (value < 1)) {
-                            throw new IOException("Invalid value at [" + String.valueOf(rowIndex + 1)
-                                    + "][" + String.valueOf(colIndex + 1)
-                                    + "] = {"
-                                    + String.valueOf(value)
-                                    + "}\n");
-                        }
-                    }
-                    //EOV
+        return BoardParser.readBoard(filePath, allowZeros);
+    }
 
-                    // Store value in board
-                    board[rowIndex][colIndex] = value;
-                }
+    /**
+     * Reads every board from a multi-board file.
+     * 
+     * Supported layouts (can be mixed in one file):
+     * - One CSV row per board row, like the files StorageManager writes
+     *   (blank lines between boards are ignored); the size comes from the
+     *   first row of each board
+     * - One line of size * size characters per board (81 for 9x9), '0' or
+     *   '.' for empty cells; above 9, digits continue with letters
+     *   (A = 10 ... G = 16 ... P = 25)
+     * 
+     * @param filePath Path to the file
+     * @return The boards in file order, 0 for empty cells
+     * @throws IOException if the file cannot be read or contains invalid data
+     * @throws NumberFormatException if values cannot be parsed as integers
+     */
+    public static List<int[][]> readBoards(String filePath) throws IOException, NumberFormatException {
+        List<int[][]> boards = new ArrayList<>();
+        BoardParser.readBoards(filePath, boards::add);
+        return boards;
+    }
 
-                rowIndex++;
-            }
+    /**
+     * Streams every board from channel to consumer as soon as it is complete,
+     * so large inputs (or stdin) never have to fit in memory.
+     * Same layouts as @see #readBoards(String).
+     * 
+     * @param channel Input positioned at the first board (not closed)
+     * @param consumer Receives each board, 0 for empty cells
+     * @throws IOException if the input cannot be read or contains invalid data
+     * @throws NumberFormatException if values cannot be parsed as integers
+     */
+    public static void readBoards(ReadableByteChannel channel, Consumer<int[][]> consumer) throws IOException, NumberFormatException {
+        new BoardParser(channel).readBoards(consumer);
+    }
 
-            //@Validation ~ hazem
-            if (rowIndex < 9) {
-                throw new IOException("Input file contains less than 9 rows, found " + rowIndex + ".");
+    /**
+     * One-line form of a board, the inverse of what readBoards accepts:
+     * '.' for empty cells, digits, then letters for values above 9.
+     */
+    public static String toLine(int[][] board) {
+        StringBuilder line = new StringBuilder(board.length * board.length);
+        for (int[] row : board) {
+            for (int value : row) {
+                line.append((value == 0) ? '.' : Character.toUpperCase(Character.forDigit(value, 36)));
             }
-            //EOV
         }
-
-        return board;
+        return line.toString();
     }
 
     /**
@@ -0,0 +1,227 @@
+package com.mycompany.app.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Canonical form of a board under the Sudoku symmetries.
+ *
+ * Two boards are equivalent if one becomes the other by relabelling the
+ * digits, swapping bands or stacks, swapping rows within a band or columns
+ * within a stack, and transposing. The canonical form is the smallest of
+ * all equivalent boards, read row by row, with the digits relabelled 1, 2,
+ * 3... in order of first appearance (empty cells stay 0). Equivalent boards
+ * have the same canonical form and different ones never do.
+ *
+ * Search: for both orientations and each of the 1296 column orders of a
+ * 9x9 board, rows are picked one at a time (any row of an unused band to
+ * start a band, then the rest of that band) and a branch is dropped as soon
+ * as its row is larger than the same row of the best board found so far.
+ *
+ * 16x16 and 25x25 boards have far too many column orders to enumerate, so
+ * for them only the digits are relabelled: exact copies are still found,
+ * rearranged ones are not.
+ *
+ * Not thread-safe (reuses its work arrays); one instance per thread.
+ */
+public class SudokuCanonicalizer {
+    private static final int MAX_SEARCH_BOX_SIZE = 3;
+
+    private final int boxSize;
+    private final int size;
+    private final int cells;
+    private final int[][] columnOrders;
+
+    private final int[] grid;      // board in the current orientation, row-major
+    private final int[] current;   // rows picked so far, relabelled
+    private final int[] best;      // smallest complete board so far
+    private int bestRows;          // rows of best that are valid bounds
+    private final int[][] labels;  // labels[level][digit], digit -> label before row level
+    private final int[] nextLabel; // labels used before row level
+    private int[] columns;         // current column order
+
+    /**
+     * @param size 4, 9, 16 or 25
+     */
+    public SudokuCanonicalizer(int size) {
+        this.boxSize = (int) Math.round(Math.sqrt(size));
+        if (boxSize * boxSize != size || boxSize < 2 || boxSize > 5) {
+            throw new IllegalArgumentException("Unsupported board size " + size + ", expected 4, 9, 16 or 25");
+        }
+        this.size = size;
+        this.cells = size * size;
+        this.columnOrders = (boxSize <= MAX_SEARCH_BOX_SIZE) ? columnOrders(boxSize) : null;
+        this.grid = new int[cells];
+        this.current = new int[cells];
+        this.best = new int[cells];
+        this.labels = new int[size + 1][size + 1];
+        this.nextLabel = new int[size + 1];
+    }
+
+    /**
+     * @return true if the full symmetry search is done for this size (4 and 9)
+     */
+    public boolean isFullSearch() {
+        return columnOrders != null;
+    }
+
+    /**
+     * @param board size x size board, 0 for empty cells (not modified)
+     * @return Canonical form, row-major (a new array)
+     */
+    public int[] canonicalize(int[][] board) {
+        if (board.length != size) {
+            throw new IllegalArgumentException("Board is " + board.length + "x" + board.length
+                    + ", expected " + size + "x" + size);
+        }
+
+        if (columnOrders == null) {
+            int[] map = new int[size + 1];
+            int next = 0;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int value = board[row][col];
+                    if (value != 0 && map[value] == 0) {
+                        map[value] = ++next;
+                    }
+                    best[row * size + col] = map[value];
+                }
+            }
+            return best.clone();
+        }
+
+        bestRows = 0;
+        for (int orientation = 0; orientation < 2; orientation++) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    grid[row * size + col] = (orientation == 0) ? board[row][col] : board[col][row];
+                }
+            }
+            for (int[] order : columnOrders) {
+                columns = order;
+                search(0, 0, 0);
+            }
+        }
+        return best.clone();
+    }
+
+    /**
+     * Picks row number level of the output.
+     * @param usedRows Bit per source row already picked
+     * @param band Band of the previous row
+     */
+    private void search(int level, int usedRows, int band) {
+        if (level == size) {
+            System.arraycopy(current, 0, best, 0, cells);
+            bestRows = size;
+            return;
+        }
+
+        int firstBand = band;
+        int lastBand = band;
+        if (level % boxSize == 0) {
+            firstBand = 0;
+            lastBand = boxSize - 1;
+        }
+        int base = level * size;
+        int[] from = labels[level];
+        int[] to = labels[level + 1];
+
+        for (int candidateBand = firstBand; candidateBand <= lastBand; candidateBand++) {
+            if (level % boxSize == 0 && ((usedRows >>> (candidateBand * boxSize)) & ((1 << boxSize) - 1)) != 0) {
+                continue; // band already used
+            }
+            for (int row = candidateBand * boxSize; row < (candidateBand + 1) * boxSize; row++) {
+                if ((usedRows & (1 << row)) != 0) {
+                    continue;
+                }
+
+                System.arraycopy(from, 0, to, 0, size + 1);
+                int next = nextLabel[level];
+                boolean compare = level < bestRows;
+                int order = 0; // compared with best's row: -1 smaller, 0 equal so far
+                boolean larger = false;
+                int source = row * size;
+                for (int col = 0; col < size; col++) {
+                    int value = grid[source + columns[col]];
+                    if (value != 0) {
+                        if (to[value] == 0) {
+                            to[value] = ++next;
+                        }
+                        value = to[value];
+                    }
+                    current[base + col] = value;
+                    if (compare && order == 0) {
+                        int bound = best[base + col];
+                        if (value > bound) {
+                            larger = true;
+                            break;
+                        }
+                        if (value < bound) {
+                            order = -1;
+                        }
+                    }
+                }
+                if (larger) {
+                    continue;
+                }
+                if (compare && order < 0) {
+                    bestRows = level; // best is beaten from this row on
+                }
+                nextLabel[level + 1] = next;
+                search(level + 1, usedRows | (1 << row), candidateBand);
+            }
+        }
+    }
+
+    /**
+     * Every column order the symmetries allow: stacks in any order, columns
+     * in any order within their stack.
+     */
+    private static int[][] columnOrders(int boxSize) {
+        List<int[]> stackOrders = permutations(boxSize);
+        List<int[]> orders = new ArrayList<>();
+        addColumnOrders(boxSize, stackOrders, new int[boxSize], 0, orders);
+        return orders.toArray(new int[0][]);
+    }
+
+    private static void addColumnOrders(int boxSize, List<int[]> permutations, int[] inStack, int stack,
+            List<int[]> orders) {
+        if (stack == boxSize) {
+            for (int[] stackOrder : permutations) {
+                int[] order = new int[boxSize * boxSize];
+                for (int s = 0; s < boxSize; s++) {
+                    int[] columnOrder = permutations.get(inStack[stackOrder[s]]);
+                    for (int c = 0; c < boxSize; c++) {
+                        order[s * boxSize + c] = stackOrder[s] * boxSize + columnOrder[c];
+                    }
+                }
+                orders.add(order);
+            }
+            return;
+        }
+        for (int p = 0; p < permutations.size(); p++) {
+            inStack[stack] = p;
+            addColumnOrders(boxSize, permutations, inStack, stack + 1, orders);
+        }
+    }
+
+    private static List<int[]> permutations(int n) {
+        List<int[]> result = new ArrayList<>();
+        permute(new int[n], 0, 0, result);
+        return result;
+    }
+
+    private static void permute(int[] prefix, int length, int used, List<int[]> result) {
+        if (length == prefix.length) {
+            result.add(prefix.clone());
+            return;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((used & (1 << i)) == 0) {
+                prefix[length] = i;
+                permute(prefix, length + 1, used | (1 << i), result);
+            }
+        }
+    }
+}
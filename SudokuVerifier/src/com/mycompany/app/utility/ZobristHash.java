@@ -0,0 +1,69 @@
+package com.mycompany.app.utility;
+
+import java.util.Random;
+
+import com.mycompany.app.models.BoardGeometry;
+
+/**
+ * 64-bit Zobrist hashing of a board (4x4, 9x9, 16x16 or 25x25).
+ * 
+ * Every (cell, value) pair gets a fixed random key and a board's hash is the
+ * XOR of the keys of its cells. Changing one cell is two XORs, so a hash can
+ * be kept up to date in O(1) while the board is edited instead of being
+ * recomputed from all the cells.
+ * 
+ * Each board size has its own keys. Empty cells (value 0) have key 0, so
+ * an empty board hashes to 0.
+ */
+public class ZobristHash {
+    // Fixed seed: hashes stay the same across runs
+    private static final long SEED = 0x5EED_2025_50D0CL;
+    private static final long[][][] KEYS = new long[BoardGeometry.MAX_BOX_SIZE + 1][][]; // by box size
+
+    static {
+        Random random = new Random(SEED);
+        for (int boxSize = BoardGeometry.MIN_BOX_SIZE; boxSize <= BoardGeometry.MAX_BOX_SIZE; boxSize++) {
+            int size = boxSize * boxSize;
+            KEYS[boxSize] = new long[size * size][size + 1];
+            for (int cell = 0; cell < size * size; cell++) {
+                for (int value = 1; value <= size; value++) {
+                    KEYS[boxSize][cell][value] = random.nextLong();
+                }
+            }
+        }
+    }
+
+    private ZobristHash() {
+    }
+
+    /**
+     * Computes the hash of a whole board.
+     * @param board size x size board with values 0-size
+     * @throws IllegalArgumentException for an unsupported size
+     */
+    public static long hash(int[][] board) {
+        int size = board.length;
+        long[][] keys = keysFor(size);
+        long hash = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                hash ^= keys[row * size + col][board[row][col]];
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the hash after cell (row, col) of a size x size board changes
+     * from oldValue to newValue.
+     */
+    public static long update(long hash, int size, int row, int col, int oldValue, int newValue) {
+        long[][] keys = keysFor(size);
+        int cell = row * size + col;
+        return hash ^ keys[cell][oldValue] ^ keys[cell][newValue];
+    }
+
+    private static long[][] keysFor(int size) {
+        return KEYS[BoardGeometry.of(size).getBoxSize()];
+    }
+}
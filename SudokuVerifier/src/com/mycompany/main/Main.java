@@ -4,7 +4,10 @@
  */
 package com.mycompany.main;
 
+import java.util.Arrays;
+
 import com.mycompany.app.controllers.SudokuController;
+import com.mycompany.app.controllers.services.verifierServices.BatchVerifier;
 import com.mycompany.app.frontend.MainFrame;
 
 /**
@@ -15,8 +18,14 @@ public class Main {
 
     /**
      * @param args the command line arguments
+     * No arguments starts the GUI; "verify input [output] [--threads N]"
+     * runs the headless bulk verifier (see @see BatchVerifier).
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("verify")) {
+            BatchVerifier.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         
         SudokuController controller = new SudokuController();
         MainFrame mainFrame = new MainFrame(controller);